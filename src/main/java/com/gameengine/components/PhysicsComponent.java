@@ -1,34 +1,46 @@
 package com.gameengine.components;
 
+import com.gameengine.core.BodyStore;
 import com.gameengine.core.Component;
 import com.gameengine.math.Vector2;
 
+// 物理组件。参与积分的数据（速度、加速度、重力、摩擦）在场景中时存放在场景 BodyStore 的某一行，
+// 由 PhysicsSystem 按列积分；不在场景中时放在组件自己的字段里。其余状态始终由组件持有，修改都就地进行。
+// 返回 Vector2 的 getter 每次都会复制，每帧调用的代码请用 getVelocityX() 等基本类型访问器。
 public class PhysicsComponent extends Component<PhysicsComponent> {
-    private Vector2 velocity;
-    private Vector2 acceleration;
-    private float mass;
+    // 挂接到场景存储时为 null 以外的值，此时下面七个积分字段不再使用
+    private BodyStore store;
+    private int row;
+    private float velocityX;
+    private float velocityY;
+    private float accelerationX;
+    private float accelerationY;
+    private float gravityX;
+    private float gravityY;
     private float friction;
     private boolean useGravity;
-    private Vector2 gravity;
+    private float mass;
     private Vector2 lastImpulse;
     private float impulseTime;
     private float health;
     private float maxHealth;
     private float damageImmunityTimer;
+    // AI 相互碰撞后的冲量冷却，大于 0 时不再施加碰撞冲量
+    private float collisionCooldown;
     
     
     public PhysicsComponent() {
-        this.velocity = new Vector2();
-        this.acceleration = new Vector2();
         this.mass = 1.0f;
         this.friction = 0.9f;
         this.useGravity = false;
-        this.gravity = new Vector2(0, 9.8f);
+        this.gravityX = 0;
+        this.gravityY = 9.8f;
         this.lastImpulse = new Vector2();
         this.impulseTime = 0f;
         this.health = 100f;
         this.maxHealth = 100f;
         this.damageImmunityTimer = 0f;
+        this.collisionCooldown = 0f;
         
     }
     
@@ -41,50 +53,147 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     public void initialize() {
     }
     
+    // 由场景的实体表调用：把积分数据搬到 target 的第 targetRow 行，之后读写都落在那里
+    public void attach(BodyStore target, int targetRow) {
+        detach();
+        target.velX[targetRow] = velocityX;
+        target.velY[targetRow] = velocityY;
+        target.accX[targetRow] = accelerationX;
+        target.accY[targetRow] = accelerationY;
+        target.gravityX[targetRow] = gravityX;
+        target.gravityY[targetRow] = gravityY;
+        target.friction[targetRow] = friction;
+        target.useGravity[targetRow] = useGravity;
+        target.enabled[targetRow] = enabled;
+        store = target;
+        row = targetRow;
+    }
+    
+    // 由场景的实体表调用：把积分数据搬回组件自己的字段
+    public void detach() {
+        if (store == null) return;
+        velocityX = store.velX[row];
+        velocityY = store.velY[row];
+        accelerationX = store.accX[row];
+        accelerationY = store.accY[row];
+        gravityX = store.gravityX[row];
+        gravityY = store.gravityY[row];
+        friction = store.friction[row];
+        useGravity = store.useGravity[row];
+        store = null;
+        row = 0;
+    }
+    
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        if (store != null) store.enabled[row] = enabled;
+    }
+    
+    @Override
+    public void destroy() {
+        setEnabled(false);
+    }
+    
+    // 对象池复用前调用：清空运动、冲量、无敌与碰撞冷却状态，生命回满；质量、摩擦与重力设置保持不变
+    public void reset() {
+        setVelocity(0, 0);
+        clearAcceleration();
+        lastImpulse.x = 0; lastImpulse.y = 0;
+        impulseTime = 0f;
+        health = maxHealth;
+        damageImmunityTimer = 0f;
+        collisionCooldown = 0f;
+    }
+    
     @Override
     public void render() {
     }
     
     public void applyForce(Vector2 force) {
+        applyForce(force.x, force.y);
+    }
+    
+    public void applyForce(float fx, float fy) {
         if (mass > 0) {
-            acceleration = acceleration.add(force.multiply(1.0f / mass));
+            float inverseMass = 1.0f / mass;
+            setAcceleration(getAccelerationX() + fx * inverseMass, getAccelerationY() + fy * inverseMass);
         }
     }
     
     public void applyImpulse(Vector2 impulse) {
+        applyImpulse(impulse.x, impulse.y);
+    }
+    
+    public void applyImpulse(float ix, float iy) {
         if (mass > 0) {
-            velocity = velocity.add(impulse.multiply(1.0f / mass));
-            this.lastImpulse = new Vector2(impulse);
+            float inverseMass = 1.0f / mass;
+            setVelocity(getVelocityX() + ix * inverseMass, getVelocityY() + iy * inverseMass);
+            lastImpulse.x = ix;
+            lastImpulse.y = iy;
             this.impulseTime = 0.1f;  // 记录冲量持续0.1秒
         }
     }
     
     public void setVelocity(Vector2 velocity) {
-        this.velocity = new Vector2(velocity);
+        setVelocity(velocity.x, velocity.y);
     }
     
     public void setVelocity(float x, float y) {
-        this.velocity = new Vector2(x, y);
+        if (store != null) {
+            store.velX[row] = x;
+            store.velY[row] = y;
+        } else {
+            velocityX = x;
+            velocityY = y;
+        }
     }
     
     public void setAcceleration(Vector2 acceleration) {
-        this.acceleration = new Vector2(acceleration);
+        setAcceleration(acceleration.x, acceleration.y);
+    }
+    
+    public void setAcceleration(float x, float y) {
+        if (store != null) {
+            store.accX[row] = x;
+            store.accY[row] = y;
+        } else {
+            accelerationX = x;
+            accelerationY = y;
+        }
+    }
+    
+    public void clearAcceleration() {
+        setAcceleration(0, 0);
     }
     
     public void addVelocity(Vector2 delta) {
-        this.velocity = velocity.add(delta);
+        addVelocity(delta.x, delta.y);
+    }
+    
+    public void addVelocity(float dx, float dy) {
+        setVelocity(getVelocityX() + dx, getVelocityY() + dy);
     }
     
     public void setGravity(Vector2 gravity) {
-        this.gravity = new Vector2(gravity);
+        if (store != null) {
+            store.gravityX[row] = gravity.x;
+            store.gravityY[row] = gravity.y;
+        } else {
+            gravityX = gravity.x;
+            gravityY = gravity.y;
+        }
     }
     
     public void setUseGravity(boolean useGravity) {
-        this.useGravity = useGravity;
+        if (store != null) store.useGravity[row] = useGravity;
+        else this.useGravity = useGravity;
     }
     
     public void setFriction(float friction) {
-        this.friction = Math.max(0, Math.min(1, friction));
+        float clamped = Math.max(0, Math.min(1, friction));
+        if (store != null) store.friction[row] = clamped;
+        else this.friction = clamped;
     }
     
     public void setMass(float mass) {
@@ -92,11 +201,27 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     }
     
     public Vector2 getVelocity() {
-        return new Vector2(velocity);
+        return new Vector2(getVelocityX(), getVelocityY());
+    }
+    
+    public float getVelocityX() {
+        return store != null ? store.velX[row] : velocityX;
+    }
+    
+    public float getVelocityY() {
+        return store != null ? store.velY[row] : velocityY;
     }
     
     public Vector2 getAcceleration() {
-        return new Vector2(acceleration);
+        return new Vector2(getAccelerationX(), getAccelerationY());
+    }
+    
+    public float getAccelerationX() {
+        return store != null ? store.accX[row] : accelerationX;
+    }
+    
+    public float getAccelerationY() {
+        return store != null ? store.accY[row] : accelerationY;
     }
     
     public float getMass() {
@@ -104,22 +229,31 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     }
     
     public float getFriction() {
-        return friction;
+        return store != null ? store.friction[row] : friction;
     }
     
     public boolean isUseGravity() {
-        return useGravity;
+        return store != null ? store.useGravity[row] : useGravity;
     }
     
     public Vector2 getGravity() {
-        return new Vector2(gravity);
+        return new Vector2(getGravityX(), getGravityY());
+    }
+    
+    public float getGravityX() {
+        return store != null ? store.gravityX[row] : gravityX;
+    }
+    
+    public float getGravityY() {
+        return store != null ? store.gravityY[row] : gravityY;
     }
     
     public void updateImpulseTimer(float deltaTime) {
         impulseTime -= deltaTime;
         if (impulseTime < 0) {
             impulseTime = 0;
-            lastImpulse = new Vector2();
+            lastImpulse.x = 0;
+            lastImpulse.y = 0;
         }
     }
     
@@ -127,10 +261,45 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
         return new Vector2(lastImpulse);
     }
     
+    public float getLastImpulseX() {
+        return lastImpulse.x;
+    }
+    
+    public float getLastImpulseY() {
+        return lastImpulse.y;
+    }
+    
     public boolean hasRecentImpulse() {
         return impulseTime > 0;
     }
     
+    public float getImpulseTime() {
+        return impulseTime;
+    }
+    
+    // 直接恢复最近一次冲量记录（用于回滚到之前保存的状态），不改变速度
+    public void setLastImpulse(float ix, float iy, float impulseTime) {
+        lastImpulse.x = ix;
+        lastImpulse.y = iy;
+        this.impulseTime = impulseTime;
+    }
+    
+    public float getCollisionCooldown() {
+        return collisionCooldown;
+    }
+    
+    public void setCollisionCooldown(float seconds) {
+        this.collisionCooldown = seconds;
+    }
+    
+    // 冷却到期（不大于 0）时归零
+    public void updateCollisionCooldown(float deltaTime) {
+        if (collisionCooldown > 0) {
+            float remaining = collisionCooldown - deltaTime;
+            collisionCooldown = remaining <= 0 ? 0f : remaining;
+        }
+    }
+    
     public void updateImmunityTimer(float deltaTime) {
         damageImmunityTimer -= deltaTime;
         if (damageImmunityTimer < 0) {
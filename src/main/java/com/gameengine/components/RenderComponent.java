@@ -10,6 +10,7 @@ public class RenderComponent extends Component<RenderComponent> {
     private Vector2 size;
     private Color color;
     private boolean visible;
+    private int segments;
     
     public enum RenderType {
         RECTANGLE,
@@ -37,6 +38,7 @@ public class RenderComponent extends Component<RenderComponent> {
         this.size = new Vector2(20, 20);
         this.color = new Color(1.0f, 1.0f, 1.0f, 1.0f);
         this.visible = true;
+        this.segments = 16;
     }
     
     public RenderComponent(RenderType renderType, Vector2 size, Color color) {
@@ -44,6 +46,7 @@ public class RenderComponent extends Component<RenderComponent> {
         this.size = new Vector2(size);
         this.color = color;
         this.visible = true;
+        this.segments = 16;
     }
     
     @Override
@@ -61,20 +64,21 @@ public class RenderComponent extends Component<RenderComponent> {
             return;
         }
         
-        Vector2 position = transform.getPosition();
+        float x = transform.getRenderX();
+        float y = transform.getRenderY();
         
         switch (renderType) {
             case RECTANGLE:
-                renderer.drawRect(position.x, position.y, size.x, size.y, 
+                renderer.drawRect(x, y, size.x, size.y, 
                                 color.r, color.g, color.b, color.a);
                 break;
             case CIRCLE:
-                renderer.drawCircle(position.x + size.x/2, position.y + size.y/2, 
-                                  size.x/2, 16, color.r, color.g, color.b, color.a);
+                renderer.drawCircle(x + size.x/2, y + size.y/2, 
+                                  size.x/2, segments, color.r, color.g, color.b, color.a);
                 break;
             case LINE:
-                renderer.drawLine(position.x, position.y, 
-                                position.x + size.x, position.y + size.y,
+                renderer.drawLine(x, y, 
+                                x + size.x, y + size.y,
                                 color.r, color.g, color.b, color.a);
                 break;
         }
@@ -96,6 +100,20 @@ public class RenderComponent extends Component<RenderComponent> {
         this.size = new Vector2(size);
     }
     
+    public void setSize(float width, float height) {
+        size.x = width;
+        size.y = height;
+    }
+    
+    // 圆形的分段数，画质降低时可调小
+    public void setSegments(int segments) {
+        this.segments = Math.max(3, segments);
+    }
+    
+    public int getSegments() {
+        return segments;
+    }
+    
     public void setVisible(boolean visible) {
         this.visible = visible;
     }
@@ -108,6 +126,14 @@ public class RenderComponent extends Component<RenderComponent> {
         return new Vector2(size);
     }
     
+    public float getWidth() {
+        return size.x;
+    }
+    
+    public float getHeight() {
+        return size.y;
+    }
+    
     public Color getColor() {
         return color;
     }
@@ -1,28 +1,40 @@
 package com.gameengine.components;
 
 import com.gameengine.core.Component;
+import com.gameengine.core.TransformStore;
 import com.gameengine.math.Vector2;
 
+// 变换组件：在场景中时数据存放在场景 TransformStore 的某一行（列式 float 数组），组件本身只是视图。
+// 对象加入场景时由实体表把字段里的数据搬进这一行，离开时搬回字段；不在场景中时直接读写字段，不额外分配存储。
+// 每帧调用的代码请用 getX()/setPosition(x, y) 等基本类型访问器，返回 Vector2 的方法每次都会分配新对象。
 public class TransformComponent extends Component<TransformComponent> {
-    private Vector2 position;
-    private Vector2 scale;
+    // 挂接到场景存储时为 null 以外的值，此时下面的字段不再使用
+    private TransformStore store;
+    private int row;
+    private float x;
+    private float y;
+    private float scaleX;
+    private float scaleY;
     private float rotation;
+    private float prevX;
+    private float prevY;
+    private float renderX;
+    private float renderY;
     
     public TransformComponent() {
-        this.position = new Vector2();
-        this.scale = new Vector2(1, 1);
-        this.rotation = 0;
+        this.scaleX = 1;
+        this.scaleY = 1;
     }
     
     public TransformComponent(Vector2 position) {
         this();
-        this.position = new Vector2(position);
+        resetPosition(position.x, position.y);
     }
     
     public TransformComponent(Vector2 position, Vector2 scale, float rotation) {
-        this.position = new Vector2(position);
-        this.scale = new Vector2(scale);
-        this.rotation = rotation;
+        this(position);
+        setScale(scale.x, scale.y);
+        setRotation(rotation);
     }
     
     @Override
@@ -33,43 +45,193 @@ public class TransformComponent extends Component<TransformComponent> {
     public void render() {
     }
     
+    // 由场景的实体表调用：把数据搬到 target 的第 targetRow 行，之后读写都落在那里
+    public void attach(TransformStore target, int targetRow) {
+        detach();
+        target.x[targetRow] = x;
+        target.y[targetRow] = y;
+        target.scaleX[targetRow] = scaleX;
+        target.scaleY[targetRow] = scaleY;
+        target.rotation[targetRow] = rotation;
+        target.prevX[targetRow] = prevX;
+        target.prevY[targetRow] = prevY;
+        target.renderX[targetRow] = renderX;
+        target.renderY[targetRow] = renderY;
+        store = target;
+        row = targetRow;
+    }
+    
+    // 由场景的实体表调用：把数据搬回组件自己的字段
+    public void detach() {
+        if (store == null) return;
+        x = store.x[row];
+        y = store.y[row];
+        scaleX = store.scaleX[row];
+        scaleY = store.scaleY[row];
+        rotation = store.rotation[row];
+        prevX = store.prevX[row];
+        prevY = store.prevY[row];
+        renderX = store.renderX[row];
+        renderY = store.renderY[row];
+        store = null;
+        row = 0;
+    }
+    
+    public boolean isAttached() {
+        return store != null;
+    }
+    
+    public float getX() {
+        return store != null ? store.x[row] : x;
+    }
+    
+    public float getY() {
+        return store != null ? store.y[row] : y;
+    }
+    
+    public void setX(float x) {
+        if (store != null) store.x[row] = x;
+        else this.x = x;
+    }
+    
+    public void setY(float y) {
+        if (store != null) store.y[row] = y;
+        else this.y = y;
+    }
+    
+    public void setPosition(float x, float y) {
+        setX(x);
+        setY(y);
+    }
+    
+    public void translate(float dx, float dy) {
+        setPosition(getX() + dx, getY() + dy);
+    }
+    
+    public float getScaleX() {
+        return store != null ? store.scaleX[row] : scaleX;
+    }
+    
+    public float getScaleY() {
+        return store != null ? store.scaleY[row] : scaleY;
+    }
+    
+    public void setScale(float sx, float sy) {
+        if (store != null) {
+            store.scaleX[row] = sx;
+            store.scaleY[row] = sy;
+        } else {
+            scaleX = sx;
+            scaleY = sy;
+        }
+    }
+    
+    public float getRenderX() {
+        return store != null ? store.renderX[row] : renderX;
+    }
+    
+    public float getRenderY() {
+        return store != null ? store.renderY[row] : renderY;
+    }
+    
+    public float getPreviousX() {
+        return store != null ? store.prevX[row] : prevX;
+    }
+    
+    public float getPreviousY() {
+        return store != null ? store.prevY[row] : prevY;
+    }
+    
     public void moveTo(Vector2 newPosition) {
-        this.position = new Vector2(newPosition);
+        setPosition(newPosition.x, newPosition.y);
     }
     
     public void translate(Vector2 delta) {
-        this.position = position.add(delta);
+        translate(delta.x, delta.y);
     }
     
     public void rotate(float angle) {
-        this.rotation += angle;
+        setRotation(getRotation() + angle);
     }
     
     public void setRotation(float angle) {
-        this.rotation = angle;
+        if (store != null) store.rotation[row] = angle;
+        else rotation = angle;
     }
     
     public void scale(Vector2 scaleFactor) {
-        this.scale = new Vector2(this.scale.x * scaleFactor.x, this.scale.y * scaleFactor.y);
+        setScale(getScaleX() * scaleFactor.x, getScaleY() * scaleFactor.y);
     }
     
     public void setScale(Vector2 newScale) {
-        this.scale = new Vector2(newScale);
+        setScale(newScale.x, newScale.y);
     }
     
     public Vector2 getPosition() {
-        return new Vector2(position);
+        return new Vector2(getX(), getY());
     }
     
     public void setPosition(Vector2 position) {
-        this.position = new Vector2(position);
+        setPosition(position.x, position.y);
+    }
+    
+    // 瞬移到新位置，上一 tick 与渲染位置一并重置，插值不会从旧位置滑过来（用于生成和复用实体）
+    public void resetPosition(float x, float y) {
+        setPosition(x, y);
+        setPrevious(x, y);
+        setRender(x, y);
+    }
+    
+    public void storePreviousPosition() {
+        setPrevious(getX(), getY());
+    }
+    
+    public void interpolate(float alpha) {
+        float cx = getX();
+        float cy = getY();
+        if (alpha >= 1.0f) {
+            setRender(cx, cy);
+            return;
+        }
+        float px = getPreviousX();
+        float py = getPreviousY();
+        setRender(px + (cx - px) * alpha, py + (cy - py) * alpha);
+    }
+    
+    public Vector2 getPreviousPosition() {
+        return new Vector2(getPreviousX(), getPreviousY());
+    }
+    
+    // 渲染用位置（固定步长模式下为上一 tick 与当前 tick 之间的插值）
+    public Vector2 getRenderPosition() {
+        return new Vector2(getRenderX(), getRenderY());
     }
     
     public Vector2 getScale() {
-        return new Vector2(scale);
+        return new Vector2(getScaleX(), getScaleY());
     }
     
     public float getRotation() {
-        return rotation;
+        return store != null ? store.rotation[row] : rotation;
+    }
+    
+    private void setPrevious(float x, float y) {
+        if (store != null) {
+            store.prevX[row] = x;
+            store.prevY[row] = y;
+        } else {
+            prevX = x;
+            prevY = y;
+        }
+    }
+    
+    private void setRender(float x, float y) {
+        if (store != null) {
+            store.renderX[row] = x;
+            store.renderY[row] = y;
+        } else {
+            renderX = x;
+            renderY = y;
+        }
     }
 }
@@ -0,0 +1,113 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// 原型：组件类型集合完全相同的一组实体。每种组件类型一列，按行连续存放，
+// 系统可以直接按行遍历列数组，而不必对每个实体逐个查找组件。
+//
+// 行号不稳定：删除实体时用最后一行填补空位（swap-remove）。
+// 列数组在扩容时会被替换，遍历时应每次通过 column() 重新获取。
+public class Archetype {
+    private final BitSet signature;
+    private final Class<?>[] types;
+    // 组件类型 ID -> 列下标（父类型的 ID 指向其子类所在的列），-1 表示没有
+    private final int[] columnById;
+    private Component<?>[][] columns;
+    private GameObject[] entities;
+    private int size;
+
+    Archetype(BitSet signature) {
+        this.signature = (BitSet) signature.clone();
+        this.types = new Class<?>[signature.cardinality()];
+        int maxId = 0;
+        int c = 0;
+        for (int id = signature.nextSetBit(0); id >= 0; id = signature.nextSetBit(id + 1)) {
+            types[c++] = ComponentTypeRegistry.typeOf(id);
+            for (int superId : ComponentTypeRegistry.hierarchyIdsOf(types[c - 1])) {
+                maxId = Math.max(maxId, superId);
+            }
+        }
+        this.columnById = new int[maxId + 1];
+        Arrays.fill(columnById, -1);
+        // 按 ID 升序排列，精确类型优先于父类型映射
+        for (int col = 0; col < types.length; col++) {
+            columnById[ComponentTypeRegistry.idOf(types[col])] = col;
+        }
+        for (int col = 0; col < types.length; col++) {
+            for (int superId : ComponentTypeRegistry.hierarchyIdsOf(types[col])) {
+                if (columnById[superId] < 0) {
+                    columnById[superId] = col;
+                }
+            }
+        }
+        this.columns = new Component<?>[types.length][16];
+        this.entities = new GameObject[16];
+        this.size = 0;
+    }
+
+    int add(GameObject entity) {
+        if (size == entities.length) {
+            int cap = entities.length * 2;
+            entities = Arrays.copyOf(entities, cap);
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = Arrays.copyOf(columns[c], cap);
+            }
+        }
+        entities[size] = entity;
+        for (int c = 0; c < types.length; c++) {
+            columns[c][size] = entity.findComponentOfClass(types[c]);
+        }
+        return size++;
+    }
+
+    void remove(int row) {
+        int last = size - 1;
+        if (row != last) {
+            GameObject moved = entities[last];
+            entities[row] = moved;
+            for (int c = 0; c < columns.length; c++) {
+                columns[c][row] = columns[c][last];
+            }
+            moved.archetypeRow = row;
+        }
+        entities[last] = null;
+        for (int c = 0; c < columns.length; c++) {
+            columns[c][last] = null;
+        }
+        size--;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public GameObject getEntity(int row) {
+        return entities[row];
+    }
+
+    // 返回能接收该类型的列下标（精确类型或其子类），没有则返回 -1
+    public int columnIndex(Class<?> type) {
+        int id = ComponentTypeRegistry.idOf(type);
+        return id < columnById.length ? columnById[id] : -1;
+    }
+
+    public boolean has(Class<?> type) {
+        return columnIndex(type) >= 0;
+    }
+
+    // 整列组件数组，有效行为 [0, size())；没有该类型时返回 null
+    public Component<?>[] column(Class<?> type) {
+        int index = columnIndex(type);
+        return index >= 0 ? columns[index] : null;
+    }
+
+    // 组件具体类型 ID 的集合
+    public BitSet getSignature() {
+        return (BitSet) signature.clone();
+    }
+
+    public Class<?>[] getTypes() {
+        return types.clone();
+    }
+}
@@ -0,0 +1,127 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 场景的组件存储：按组件类型集合把实体分到各个 Archetype。
+// 实体加入场景时放入对应原型，添加组件时迁移到新原型，离开场景时移除。
+// 原型以组件具体类型 ID 的位集合为签名。
+public class ArchetypeStorage {
+    private final Map<BitSet, Archetype> archetypesByTypes;
+    private final List<Archetype> archetypes;
+    private final List<Archetype> archetypesView;
+    // 已注册的查询，按所需类型 ID 集合去重
+    private final Map<BitSet, SceneQuery> queriesByTypes;
+    private final List<SceneQuery> queries;
+    private int entityCount;
+
+    public ArchetypeStorage() {
+        this.archetypesByTypes = new HashMap<>();
+        this.archetypes = new ArrayList<>();
+        this.archetypesView = Collections.unmodifiableList(archetypes);
+        this.queriesByTypes = new HashMap<>();
+        this.queries = new ArrayList<>();
+    }
+
+    public void add(GameObject entity) {
+        if (entity.storage == this) return;
+        if (entity.storage != null) {
+            entity.storage.remove(entity);
+        }
+        entity.storage = this;
+        place(entity);
+        entityCount++;
+    }
+
+    public void remove(GameObject entity) {
+        if (entity.storage != this) return;
+        unplace(entity);
+        entity.storage = null;
+        entityCount--;
+    }
+
+    // 实体的组件集合变化后调用，迁移到新的原型
+    void onComponentsChanged(GameObject entity) {
+        unplace(entity);
+        place(entity);
+    }
+
+    public void clear() {
+        for (Archetype archetype : archetypes) {
+            for (int row = 0; row < archetype.size(); row++) {
+                GameObject entity = archetype.getEntity(row);
+                entity.storage = null;
+                entity.archetype = null;
+                entity.archetypeRow = -1;
+            }
+        }
+        archetypes.clear();
+        archetypesByTypes.clear();
+        for (SceneQuery query : queries) {
+            query.clearArchetypes();
+        }
+        entityCount = 0;
+    }
+
+    // 返回带有全部给定组件类型的实体查询；相同类型集合返回同一个实例，之后随原型变化自动更新
+    public SceneQuery query(Class<?>... required) {
+        BitSet key = new BitSet();
+        for (Class<?> type : required) {
+            key.set(ComponentTypeRegistry.idOf(type));
+        }
+        SceneQuery query = queriesByTypes.get(key);
+        if (query == null) {
+            query = new SceneQuery(required);
+            for (Archetype archetype : archetypes) {
+                if (query.matches(archetype)) {
+                    query.addArchetype(archetype);
+                }
+            }
+            queriesByTypes.put(key, query);
+            queries.add(query);
+        }
+        return query;
+    }
+
+    // 所有原型（只读）；原型创建后不会被删除，可能为空
+    public List<Archetype> getArchetypes() {
+        return archetypesView;
+    }
+
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    private void place(GameObject entity) {
+        Archetype archetype = archetypeFor(entity.signature());
+        entity.archetype = archetype;
+        entity.archetypeRow = archetype.add(entity);
+    }
+
+    private void unplace(GameObject entity) {
+        if (entity.archetype != null) {
+            entity.archetype.remove(entity.archetypeRow);
+            entity.archetype = null;
+            entity.archetypeRow = -1;
+        }
+    }
+
+    private Archetype archetypeFor(BitSet signature) {
+        Archetype archetype = archetypesByTypes.get(signature);
+        if (archetype == null) {
+            archetype = new Archetype(signature);
+            archetypesByTypes.put(signature, archetype);
+            archetypes.add(archetype);
+            for (SceneQuery query : queries) {
+                if (query.matches(archetype)) {
+                    query.addArchetype(archetype);
+                }
+            }
+        }
+        return archetype;
+    }
+}
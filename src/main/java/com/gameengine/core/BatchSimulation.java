@@ -0,0 +1,217 @@
+package com.gameengine.core;
+
+import com.gameengine.graphics.RenderBackend;
+import com.gameengine.input.InputManager;
+import com.gameengine.scene.Scene;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// 批量无窗口模拟：同时运行 N 个相互隔离的世界（各自的 GameEngine、场景、输入源），
+// 世界之间在共享的 WorkerPool 上并行，世界内部的系统并行会在当前工作线程上内联执行。
+// 每个世界按固定步长推进、不渲染，输入由 InputScript 逐 tick 注入。
+public class BatchSimulation<R> {
+    public interface WorldFactory {
+        Scene create(GameEngine engine, int worldIndex);
+    }
+
+    public interface InputScript {
+        // 在第 tick 个步长执行前调用，向该世界的输入源注入按键/鼠标事件
+        void apply(InputManager input, long tick, int worldIndex);
+    }
+
+    public interface StopCondition {
+        // 每个步长之后调用，返回 true 时该世界提前结束（例如一局已分出胜负）
+        boolean shouldStop(GameEngine engine, int worldIndex);
+    }
+
+    public interface OutcomeProbe<R> {
+        R outcome(GameEngine engine, int worldIndex);
+    }
+
+    public static class WorldResult<R> {
+        private final int worldIndex;
+        private final long ticks;
+        private final long elapsedNanos;
+        private final R outcome;
+        private final Throwable error;
+
+        WorldResult(int worldIndex, long ticks, long elapsedNanos, R outcome, Throwable error) {
+            this.worldIndex = worldIndex;
+            this.ticks = ticks;
+            this.elapsedNanos = elapsedNanos;
+            this.outcome = outcome;
+            this.error = error;
+        }
+
+        public int getWorldIndex() {
+            return worldIndex;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public R getOutcome() {
+            return outcome;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isFailed() {
+            return error != null;
+        }
+    }
+
+    public static class Report<R> {
+        private final List<WorldResult<R>> worlds;
+        private final long wallNanos;
+
+        Report(List<WorldResult<R>> worlds, long wallNanos) {
+            this.worlds = Collections.unmodifiableList(worlds);
+            this.wallNanos = wallNanos;
+        }
+
+        public List<WorldResult<R>> getWorlds() {
+            return worlds;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getTotalTicks() {
+            long total = 0;
+            for (WorldResult<R> world : worlds) {
+                total += world.ticks;
+            }
+            return total;
+        }
+
+        // 所有世界合计的每秒 tick 数（按墙钟）
+        public double getAggregateTicksPerSecond() {
+            return wallNanos > 0 ? getTotalTicks() / (wallNanos / 1_000_000_000.0) : 0.0;
+        }
+
+        public int getFailedCount() {
+            int failed = 0;
+            for (WorldResult<R> world : worlds) {
+                if (world.isFailed()) failed++;
+            }
+            return failed;
+        }
+    }
+
+    private final int worldCount;
+    private final WorldFactory factory;
+    private InputScript inputScript;
+    private StopCondition stopCondition;
+    private int width;
+    private int height;
+    private float tickRate;
+    private long ticksPerWorld;
+    private Long baseSeed;
+    private WorkerPool workerPool;
+
+    public BatchSimulation(int worldCount, WorldFactory factory) {
+        if (worldCount <= 0) {
+            throw new IllegalArgumentException("worldCount 必须大于 0");
+        }
+        this.worldCount = worldCount;
+        this.factory = factory;
+        this.width = 1024;
+        this.height = 768;
+        this.tickRate = 60.0f;
+        this.ticksPerWorld = 3600;
+    }
+
+    public void setInputScript(InputScript inputScript) {
+        this.inputScript = inputScript;
+    }
+
+    public void setStopCondition(StopCondition stopCondition) {
+        this.stopCondition = stopCondition;
+    }
+
+    public void setWorldSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public void setTickRate(float tickRate) {
+        this.tickRate = tickRate;
+    }
+
+    // 每个世界最多推进的 tick 数；世界自行停止（如 running 置为 false）时提前结束
+    public void setTicksPerWorld(long ticksPerWorld) {
+        this.ticksPerWorld = ticksPerWorld;
+    }
+
+    // 设置后每个世界以 baseSeed + worldIndex 运行确定性模式，结果可复现
+    public void setBaseSeed(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+
+    // 不设置时 run() 内部创建并在结束后关闭一个线程池
+    public void setWorkerPool(WorkerPool workerPool) {
+        this.workerPool = workerPool;
+    }
+
+    public Report<R> run(OutcomeProbe<R> probe) {
+        WorkerPool pool = workerPool != null ? workerPool : new WorkerPool();
+        List<WorldResult<R>> results = new ArrayList<>(Collections.nCopies(worldCount, null));
+        long start = System.nanoTime();
+        try {
+            pool.parallelFor(0, worldCount, 1, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    results.set(i, runWorld(i, pool, probe));
+                }
+            });
+        } finally {
+            if (pool != workerPool) {
+                pool.shutdown();
+            }
+        }
+        return new Report<>(results, System.nanoTime() - start);
+    }
+
+    private WorldResult<R> runWorld(int index, WorkerPool pool, OutcomeProbe<R> probe) {
+        InputManager input = new InputManager();
+        GameEngine engine = new GameEngine(width, height, "World-" + index, RenderBackend.HEADLESS, input, pool);
+        long ticks = 0;
+        long start = System.nanoTime();
+        try {
+            engine.setTickRate(tickRate);
+            if (baseSeed != null) {
+                engine.setDeterministic(baseSeed + index);
+            } else {
+                engine.setFixedTimestep(true);
+            }
+            engine.setScene(factory.create(engine, index));
+            engine.startSimulation();
+            while (engine.isRunning() && ticks < ticksPerWorld) {
+                if (inputScript != null) {
+                    inputScript.apply(input, ticks, index);
+                }
+                engine.step();
+                ticks++;
+                if (stopCondition != null && stopCondition.shouldStop(engine, index)) {
+                    break;
+                }
+            }
+            R outcome = probe != null ? probe.outcome(engine, index) : null;
+            return new WorldResult<>(index, ticks, System.nanoTime() - start, outcome, null);
+        } catch (RuntimeException e) {
+            System.err.println("模拟世界 " + index + " 出错: " + e.getMessage());
+            return new WorldResult<>(index, ticks, System.nanoTime() - start, null, e);
+        } finally {
+            engine.cleanup();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 物理数据的列式存储：积分用到的速度、加速度、重力、摩擦各是一列，与 TransformStore 一样按实体槽位号分行。
+// PhysicsComponent 加入场景后成为指向某一行的视图，PhysicsSystem 直接按列遍历完成积分。
+// 质量、生命、冲量记录等不参与积分的数据仍留在组件里。
+//
+// present 表示该行同时挂接了物理与变换组件；enabled 由组件的 setEnabled 同步。
+// 列数组在扩容时会被替换，不要跨帧缓存数组引用。
+public class BodyStore {
+    public float[] velX;
+    public float[] velY;
+    public float[] accX;
+    public float[] accY;
+    public float[] gravityX;
+    public float[] gravityY;
+    public float[] friction;
+    public boolean[] useGravity;
+    public boolean[] enabled;
+    public boolean[] present;
+
+    public BodyStore(int capacity) {
+        int cap = Math.max(1, capacity);
+        this.velX = new float[cap];
+        this.velY = new float[cap];
+        this.accX = new float[cap];
+        this.accY = new float[cap];
+        this.gravityX = new float[cap];
+        this.gravityY = new float[cap];
+        this.friction = new float[cap];
+        this.useGravity = new boolean[cap];
+        this.enabled = new boolean[cap];
+        this.present = new boolean[cap];
+    }
+
+    public int getCapacity() {
+        return velX.length;
+    }
+
+    public void ensureCapacity(int rows) {
+        if (rows <= velX.length) return;
+        int cap = Math.max(rows, velX.length * 2);
+        velX = Arrays.copyOf(velX, cap);
+        velY = Arrays.copyOf(velY, cap);
+        accX = Arrays.copyOf(accX, cap);
+        accY = Arrays.copyOf(accY, cap);
+        gravityX = Arrays.copyOf(gravityX, cap);
+        gravityY = Arrays.copyOf(gravityY, cap);
+        friction = Arrays.copyOf(friction, cap);
+        useGravity = Arrays.copyOf(useGravity, cap);
+        enabled = Arrays.copyOf(enabled, cap);
+        present = Arrays.copyOf(present, cap);
+    }
+}
@@ -0,0 +1,58 @@
+package com.gameengine.core;
+
+// 碰撞宽相：按包围盒登记条目，给出可能相交的候选，由调用方做精确判定。
+// 条目用非负整数 ID 标识（通常是对象列表下标）。
+//
+// 每个实现存储的包围盒总是包含最近一次 update 给出的矩形，可以比它大（扩张余量），
+// 查询与候选对都按存储的包围盒计算，边界相接也算相交。结果只会多不会少。
+// 预热后各操作不分配对象；查询期间不修改宽相时，多个线程可以同时查询（各用自己的 QueryResult）。
+//
+// 实现：SpatialHashGrid（均匀网格）、SweepAndPrune（排序扫描）、DynamicAABBTree（动态包围盒树）。
+public interface Broadphase {
+    // 登记或移动条目。已存储的包围盒仍包含给定矩形时不做任何事并返回 false，
+    // 否则按实现的扩张余量重新放置并返回 true
+    boolean update(int id, float minX, float minY, float maxX, float maxY);
+
+    void remove(int id);
+
+    boolean contains(int id);
+
+    void clear();
+
+    int size();
+
+    // 条目当前存储的包围盒；条目不存在时结果无意义
+    float getMinX(int id);
+
+    float getMinY(int id);
+
+    float getMaxX(int id);
+
+    float getMaxY(int id);
+
+    // 把包围盒与查询矩形相交的条目 ID 追加到 out，顺序不定
+    void queryAABB(float minX, float minY, float maxX, float maxY, QueryResult out);
+
+    // 把包围盒与圆 (x, y, radius) 相交的条目 ID 追加到 out，顺序不定
+    default void queryRadius(float x, float y, float radius, QueryResult out) {
+        int from = out.size();
+        queryAABB(x - radius, y - radius, x + radius, y + radius, out);
+        float radiusSquared = radius * radius;
+        int kept = from;
+        for (int i = from; i < out.size(); i++) {
+            int id = out.get(i);
+            float dx = Math.max(Math.max(getMinX(id) - x, 0f), x - getMaxX(id));
+            float dy = Math.max(Math.max(getMinY(id) - y, 0f), y - getMaxY(id));
+            if (dx * dx + dy * dy <= radiusSquared) {
+                out.set(kept++, id);
+            }
+        }
+        out.truncate(kept);
+    }
+
+    // 把所有包围盒相交的条目对追加到 out，每对一次，顺序不定
+    void collectPairs(PairBuffer out);
+
+    // 把条目 id 与其它条目中包围盒相交的对追加到 out，顺序不定
+    void collectPairsWith(int id, PairBuffer out);
+}
@@ -0,0 +1,65 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 组件类型注册表：为每个 Component 子类分配从 0 开始的稠密整数 ID，
+// GameObject 按 ID 把组件放进定长槽位数组，getComponent 变成一次数组下标访问。
+//
+// 首次遇到某个类时分配 ID，同时注册它在 Component 之下的所有父类，
+// 这样按父类型查找也能命中槽位。ID 在进程内稳定，不跨进程持久化。
+public final class ComponentTypeRegistry {
+    private static final List<Class<?>> TYPES = new ArrayList<>();
+
+    private static final ClassValue<Integer> IDS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            // 多个线程可能同时首次查询同一个类，先查已有条目，保证一个类只占一个 ID
+            synchronized (TYPES) {
+                int existing = TYPES.indexOf(type);
+                if (existing >= 0) return existing;
+                TYPES.add(type);
+                return TYPES.size() - 1;
+            }
+        }
+    };
+
+    private static final ClassValue<int[]> HIERARCHY_IDS = new ClassValue<int[]>() {
+        @Override
+        protected int[] computeValue(Class<?> type) {
+            List<Integer> ids = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Component.class && c != Object.class; c = c.getSuperclass()) {
+                ids.add(idOf(c));
+            }
+            int[] result = new int[ids.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = ids.get(i);
+            }
+            return result;
+        }
+    };
+
+    private ComponentTypeRegistry() {
+    }
+
+    public static int idOf(Class<?> type) {
+        return IDS.get(type);
+    }
+
+    // 该类型及其在 Component 之下的各级父类的 ID，从具体到抽象；返回的数组是共享缓存，不要修改
+    public static int[] hierarchyIdsOf(Class<?> type) {
+        return HIERARCHY_IDS.get(type);
+    }
+
+    public static int size() {
+        synchronized (TYPES) {
+            return TYPES.size();
+        }
+    }
+
+    public static Class<?> typeOf(int id) {
+        synchronized (TYPES) {
+            return TYPES.get(id);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// AI 碰撞求解的并行调度：把按键升序的候选对分成若干层，同一层内的对两两不共享 AI，可以并行求解。
+// 层号 = 1 + 两个 AI 上一次出现的层号（按键序贪心着色），每个 AI 的各个对所在层号严格递增，
+// 所以逐层执行时每个 AI 经历的求解顺序与按键顺序串行处理完全相同，结果逐位一致。
+// 层内保持键序。数组按需增长，预热后不分配对象。
+final class ContactSchedule {
+    private int[] lastLevel = new int[0];
+    private int[] levelOf = new int[64];
+    // 按层排列的对在原列表中的下标
+    private int[] order = new int[64];
+    // 第 l 层是 order[levelStart[l], levelStart[l + 1])
+    private int[] levelStart = new int[16];
+    private int levelCount;
+
+    // pairs 必须已按键升序排序，条目 ID 小于 bodyCount
+    void build(PairBuffer pairs, int bodyCount) {
+        int m = pairs.size();
+        if (lastLevel.length < bodyCount) {
+            int oldLength = lastLevel.length;
+            lastLevel = Arrays.copyOf(lastLevel, Math.max(bodyCount, oldLength * 2));
+            Arrays.fill(lastLevel, oldLength, lastLevel.length, -1);
+        }
+        if (levelOf.length < m) {
+            levelOf = new int[Math.max(m, levelOf.length * 2)];
+            order = new int[levelOf.length];
+        }
+        int levels = 0;
+        for (int p = 0; p < m; p++) {
+            int a = pairs.first(p);
+            int b = pairs.second(p);
+            int level = 1 + Math.max(lastLevel[a], lastLevel[b]);
+            lastLevel[a] = level;
+            lastLevel[b] = level;
+            levelOf[p] = level;
+            if (level >= levels) levels = level + 1;
+        }
+        // 只复位用到的 AI，窗口很小时不必清整个数组
+        for (int p = 0; p < m; p++) {
+            lastLevel[pairs.first(p)] = -1;
+            lastLevel[pairs.second(p)] = -1;
+        }
+
+        // 按层计数排序
+        if (levelStart.length < levels + 1) {
+            levelStart = new int[Math.max(levels + 1, levelStart.length * 2)];
+        }
+        Arrays.fill(levelStart, 0, levels + 1, 0);
+        for (int p = 0; p < m; p++) {
+            levelStart[levelOf[p] + 1]++;
+        }
+        for (int l = 0; l < levels; l++) {
+            levelStart[l + 1] += levelStart[l];
+        }
+        // 放置时 levelStart[l] 用作第 l 层的写入位置，放完后等于下一层的起点，再整体右移一位
+        for (int p = 0; p < m; p++) {
+            order[levelStart[levelOf[p]]++] = p;
+        }
+        for (int l = levels; l > 0; l--) {
+            levelStart[l] = levelStart[l - 1];
+        }
+        levelStart[0] = 0;
+        levelCount = levels;
+    }
+
+    int levelCount() {
+        return levelCount;
+    }
+
+    // level 可以等于 levelCount()，此时为对的总数
+    int levelStart(int level) {
+        return levelStart[level];
+    }
+
+    int levelEnd(int level) {
+        return levelStart[level + 1];
+    }
+
+    // 按层排列的第 position 个对在原列表中的下标
+    int pairAt(int position) {
+        return order[position];
+    }
+}
@@ -0,0 +1,452 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 动态包围盒树（BVH）宽相：每个条目是一片叶子，内部节点的包围盒是两个子节点的并集。
+// 插入时按周长代价选择兄弟节点，沿路径向上修正包围盒与高度并做旋转保持平衡，查询是 O(log n) 量级。
+//
+// 叶子存储扩张后的包围盒（fat AABB）：物体在余量内移动时 update 直接返回，
+// 越界时才删除叶子、按新位置重新插入，并增量修正从该叶子到根的路径，不需要每帧重建。
+// 不依赖物体尺寸或分布，静止物体、缓慢 AI 与高速子弹可以共存；高速物体可以放进余量更大的树。
+//
+// 节点存放在平行数组里，空闲节点串成空闲链，预热后不分配对象。
+// 遍历栈按线程缓存，查询期间不修改树时可以并发查询。
+public class DynamicAABBTree implements Broadphase {
+    private static final int NONE = -1;
+
+    private static final class Stack {
+        int[] items = new int[64];
+    }
+
+    private static final ThreadLocal<Stack> STACKS = ThreadLocal.withInitial(Stack::new);
+
+    private final float margin;
+
+    // 节点
+    private float[] minX;
+    private float[] minY;
+    private float[] maxX;
+    private float[] maxY;
+    // 空闲节点的 parent 是空闲链中的下一个节点
+    private int[] parent;
+    private int[] child1;
+    private int[] child2;
+    // 叶子为 0，空闲节点为 -1
+    private int[] height;
+    // 叶子对应的条目 ID
+    private int[] entry;
+    private int nodeCapacity;
+    private int freeNode;
+    private int root;
+
+    // 条目 ID -> 叶子节点，NONE 表示不存在
+    private int[] leafOf;
+    private int size;
+
+    public DynamicAABBTree() {
+        this(2f);
+    }
+
+    // margin 为叶子包围盒每边的扩张量，越大重新插入越少、候选越多
+    public DynamicAABBTree(float margin) {
+        if (!(margin >= 0)) {
+            throw new IllegalArgumentException("margin 不能为负数");
+        }
+        this.margin = margin;
+        this.root = NONE;
+        this.leafOf = new int[64];
+        Arrays.fill(leafOf, NONE);
+        this.nodeCapacity = 0;
+        this.minX = new float[0];
+        this.minY = new float[0];
+        this.maxX = new float[0];
+        this.maxY = new float[0];
+        this.parent = new int[0];
+        this.child1 = new int[0];
+        this.child2 = new int[0];
+        this.height = new int[0];
+        this.entry = new int[0];
+        this.freeNode = NONE;
+        growNodes(64);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return id >= 0 && id < leafOf.length && leafOf[id] != NONE;
+    }
+
+    // 树高（只有根时为 0，空树为 -1），用于观察平衡情况
+    public int getHeight() {
+        return root == NONE ? -1 : height[root];
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(leafOf, NONE);
+        size = 0;
+        root = NONE;
+        freeNode = NONE;
+        for (int node = nodeCapacity - 1; node >= 0; node--) {
+            freeNodeAt(node);
+        }
+    }
+
+    @Override
+    public boolean update(int id, float minX, float minY, float maxX, float maxY) {
+        if (id < 0) {
+            throw new IllegalArgumentException("条目 ID 不能为负数: " + id);
+        }
+        int leaf;
+        if (contains(id)) {
+            leaf = leafOf[id];
+            if (this.minX[leaf] <= minX && this.minY[leaf] <= minY
+                    && this.maxX[leaf] >= maxX && this.maxY[leaf] >= maxY) {
+                return false;
+            }
+            removeLeaf(leaf);
+        } else {
+            if (id >= leafOf.length) {
+                int oldLength = leafOf.length;
+                leafOf = Arrays.copyOf(leafOf, Math.max(id + 1, oldLength * 2));
+                Arrays.fill(leafOf, oldLength, leafOf.length, NONE);
+            }
+            leaf = allocateNode();
+            height[leaf] = 0;
+            entry[leaf] = id;
+            leafOf[id] = leaf;
+            size++;
+        }
+        this.minX[leaf] = minX - margin;
+        this.minY[leaf] = minY - margin;
+        this.maxX[leaf] = maxX + margin;
+        this.maxY[leaf] = maxY + margin;
+        insertLeaf(leaf);
+        return true;
+    }
+
+    @Override
+    public void remove(int id) {
+        if (!contains(id)) return;
+        int leaf = leafOf[id];
+        removeLeaf(leaf);
+        freeNodeAt(leaf);
+        leafOf[id] = NONE;
+        size--;
+    }
+
+    @Override
+    public float getMinX(int id) {
+        return minX[leafOf[id]];
+    }
+
+    @Override
+    public float getMinY(int id) {
+        return minY[leafOf[id]];
+    }
+
+    @Override
+    public float getMaxX(int id) {
+        return maxX[leafOf[id]];
+    }
+
+    @Override
+    public float getMaxY(int id) {
+        return maxY[leafOf[id]];
+    }
+
+    @Override
+    public void queryAABB(float qMinX, float qMinY, float qMaxX, float qMaxY, QueryResult out) {
+        if (root == NONE) return;
+        Stack stack = STACKS.get();
+        int top = 0;
+        stack.items[top++] = root;
+        while (top > 0) {
+            int node = stack.items[--top];
+            if (!overlapsNode(node, qMinX, qMinY, qMaxX, qMaxY)) continue;
+            if (height[node] == 0) {
+                out.add(entry[node]);
+            } else {
+                top = push(stack, top, child1[node], child2[node]);
+            }
+        }
+    }
+
+    // 每片叶子用自己的包围盒查询一次树，只在 ID 较小的一方报告
+    @Override
+    public void collectPairs(PairBuffer out) {
+        for (int id = 0; id < leafOf.length; id++) {
+            if (leafOf[id] != NONE) {
+                collect(id, out, true);
+            }
+        }
+    }
+
+    @Override
+    public void collectPairsWith(int id, PairBuffer out) {
+        if (contains(id)) {
+            collect(id, out, false);
+        }
+    }
+
+    private void collect(int id, PairBuffer out, boolean onlyGreater) {
+        int leaf = leafOf[id];
+        float qMinX = minX[leaf];
+        float qMinY = minY[leaf];
+        float qMaxX = maxX[leaf];
+        float qMaxY = maxY[leaf];
+        Stack stack = STACKS.get();
+        int top = 0;
+        stack.items[top++] = root;
+        while (top > 0) {
+            int node = stack.items[--top];
+            if (!overlapsNode(node, qMinX, qMinY, qMaxX, qMaxY)) continue;
+            if (height[node] == 0) {
+                int other = entry[node];
+                if (other != id && (!onlyGreater || other > id)) {
+                    out.add(id, other);
+                }
+            } else {
+                top = push(stack, top, child1[node], child2[node]);
+            }
+        }
+    }
+
+    private static int push(Stack stack, int top, int a, int b) {
+        if (top + 2 > stack.items.length) {
+            stack.items = Arrays.copyOf(stack.items, stack.items.length * 2);
+        }
+        stack.items[top++] = a;
+        stack.items[top++] = b;
+        return top;
+    }
+
+    private boolean overlapsNode(int node, float qMinX, float qMinY, float qMaxX, float qMaxY) {
+        return maxX[node] >= qMinX && minX[node] <= qMaxX && maxY[node] >= qMinY && minY[node] <= qMaxY;
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NONE) {
+            root = leaf;
+            parent[leaf] = NONE;
+            return;
+        }
+
+        // 自根向下选择兄弟节点：比较“在此处成为兄弟”与“继续下探到某个子节点”的周长代价
+        float leafMinX = minX[leaf];
+        float leafMinY = minY[leaf];
+        float leafMaxX = maxX[leaf];
+        float leafMaxY = maxY[leaf];
+        int index = root;
+        while (height[index] > 0) {
+            int c1 = child1[index];
+            int c2 = child2[index];
+            float area = perimeter(minX[index], minY[index], maxX[index], maxY[index]);
+            float combinedArea = perimeter(
+                Math.min(minX[index], leafMinX), Math.min(minY[index], leafMinY),
+                Math.max(maxX[index], leafMaxX), Math.max(maxY[index], leafMaxY));
+            float cost = 2.0f * combinedArea;
+            // 下探时，祖先包围盒因新叶子而增加的代价
+            float inheritanceCost = 2.0f * (combinedArea - area);
+            float cost1 = descendCost(c1, leafMinX, leafMinY, leafMaxX, leafMaxY) + inheritanceCost;
+            float cost2 = descendCost(c2, leafMinX, leafMinY, leafMaxX, leafMaxY) + inheritanceCost;
+            if (cost < cost1 && cost < cost2) break;
+            index = cost1 < cost2 ? c1 : c2;
+        }
+        int sibling = index;
+
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        height[newParent] = height[sibling] + 1;
+        entry[newParent] = NONE;
+        if (oldParent != NONE) {
+            if (child1[oldParent] == sibling) {
+                child1[oldParent] = newParent;
+            } else {
+                child2[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refitUpwards(newParent);
+    }
+
+    private float descendCost(int child, float leafMinX, float leafMinY, float leafMaxX, float leafMaxY) {
+        float combined = perimeter(
+            Math.min(minX[child], leafMinX), Math.min(minY[child], leafMinY),
+            Math.max(maxX[child], leafMaxX), Math.max(maxY[child], leafMaxY));
+        if (height[child] == 0) {
+            return combined;
+        }
+        return combined - perimeter(minX[child], minY[child], maxX[child], maxY[child]);
+    }
+
+    // 叶子从树中摘下（节点本身不释放），它的兄弟顶替父节点的位置
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NONE;
+            return;
+        }
+        int parentNode = parent[leaf];
+        int grandParent = parent[parentNode];
+        int sibling = child1[parentNode] == leaf ? child2[parentNode] : child1[parentNode];
+        if (grandParent != NONE) {
+            if (child1[grandParent] == parentNode) {
+                child1[grandParent] = sibling;
+            } else {
+                child2[grandParent] = sibling;
+            }
+            parent[sibling] = grandParent;
+            freeNodeAt(parentNode);
+            refitUpwards(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NONE;
+            freeNodeAt(parentNode);
+        }
+    }
+
+    // 从 node 到根逐个平衡，并按子节点重算包围盒与高度
+    private void refitUpwards(int node) {
+        while (node != NONE) {
+            node = balance(node);
+            int c1 = child1[node];
+            int c2 = child2[node];
+            height[node] = 1 + Math.max(height[c1], height[c2]);
+            setUnion(node, c1, c2);
+            node = parent[node];
+        }
+    }
+
+    // 子树高度差超过 1 时把较高的子节点旋转上来，返回该位置新的子树根
+    private int balance(int a) {
+        if (height[a] < 2) return a;
+        int b = child1[a];
+        int c = child2[a];
+        int diff = height[c] - height[b];
+
+        if (diff > 1) {
+            int f = child1[c];
+            int g = child2[c];
+            child1[c] = a;
+            parent[c] = parent[a];
+            parent[a] = c;
+            replaceChild(parent[c], a, c);
+            if (height[f] > height[g]) {
+                child2[c] = f;
+                child2[a] = g;
+                parent[g] = a;
+                setUnion(a, b, g);
+                setUnion(c, a, f);
+                height[a] = 1 + Math.max(height[b], height[g]);
+                height[c] = 1 + Math.max(height[a], height[f]);
+            } else {
+                child2[c] = g;
+                child2[a] = f;
+                parent[f] = a;
+                setUnion(a, b, f);
+                setUnion(c, a, g);
+                height[a] = 1 + Math.max(height[b], height[f]);
+                height[c] = 1 + Math.max(height[a], height[g]);
+            }
+            return c;
+        }
+
+        if (diff < -1) {
+            int d = child1[b];
+            int e = child2[b];
+            child1[b] = a;
+            parent[b] = parent[a];
+            parent[a] = b;
+            replaceChild(parent[b], a, b);
+            if (height[d] > height[e]) {
+                child2[b] = d;
+                child1[a] = e;
+                parent[e] = a;
+                setUnion(a, c, e);
+                setUnion(b, a, d);
+                height[a] = 1 + Math.max(height[c], height[e]);
+                height[b] = 1 + Math.max(height[a], height[d]);
+            } else {
+                child2[b] = e;
+                child1[a] = d;
+                parent[d] = a;
+                setUnion(a, c, d);
+                setUnion(b, a, e);
+                height[a] = 1 + Math.max(height[c], height[d]);
+                height[b] = 1 + Math.max(height[a], height[e]);
+            }
+            return b;
+        }
+        return a;
+    }
+
+    private void replaceChild(int parentNode, int oldChild, int newChild) {
+        if (parentNode == NONE) {
+            root = newChild;
+        } else if (child1[parentNode] == oldChild) {
+            child1[parentNode] = newChild;
+        } else {
+            child2[parentNode] = newChild;
+        }
+    }
+
+    private void setUnion(int node, int a, int b) {
+        minX[node] = Math.min(minX[a], minX[b]);
+        minY[node] = Math.min(minY[a], minY[b]);
+        maxX[node] = Math.max(maxX[a], maxX[b]);
+        maxY[node] = Math.max(maxY[a], maxY[b]);
+    }
+
+    private static float perimeter(float minX, float minY, float maxX, float maxY) {
+        return 2.0f * ((maxX - minX) + (maxY - minY));
+    }
+
+    private int allocateNode() {
+        if (freeNode == NONE) {
+            growNodes(nodeCapacity * 2);
+        }
+        int node = freeNode;
+        freeNode = parent[node];
+        parent[node] = NONE;
+        child1[node] = NONE;
+        child2[node] = NONE;
+        height[node] = 0;
+        return node;
+    }
+
+    private void freeNodeAt(int node) {
+        parent[node] = freeNode;
+        height[node] = -1;
+        entry[node] = NONE;
+        freeNode = node;
+    }
+
+    private void growNodes(int capacity) {
+        int old = nodeCapacity;
+        minX = Arrays.copyOf(minX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        child1 = Arrays.copyOf(child1, capacity);
+        child2 = Arrays.copyOf(child2, capacity);
+        height = Arrays.copyOf(height, capacity);
+        entry = Arrays.copyOf(entry, capacity);
+        nodeCapacity = capacity;
+        // 新节点按下标从小到大串到空闲链前面
+        for (int node = capacity - 1; node >= old; node--) {
+            freeNodeAt(node);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.gameengine.core;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 场景的实体表：对象放在连续的稠密列表里供遍历，另有槽位数组把句柄映射到对象。
+// 句柄由槽位号和代号组成，对象离开场景时槽位代号加一，旧句柄随即失效，不会误指向复用该槽位的新对象。
+//
+// 删除是 O(1) 的 swap-remove：用稠密列表最后一个对象填补空位，因此遍历顺序不稳定。
+// 需要稳定顺序的遍历（渲染的前后遮挡关系）用 getObjectsInAddOrder，它按加入顺序排列，删除时延迟压缩。
+// 对象的 TransformComponent 存放在 transforms 中与槽位号相同的行，PhysicsComponent 的积分数据存放在 bodies 的同一行，
+// 变换与物理数据因此按列连续存放，PhysicsSystem 可以按槽位直接遍历这些列。
+public class EntityTable {
+    // 不指向任何对象的句柄（代号从 1 开始，不会与有效句柄冲突）
+    public static final long NO_HANDLE = 0L;
+
+    private GameObject[] slots;
+    private int[] generations;
+    private int[] freeSlots;
+    private int freeCount;
+    private int slotCount;
+    private final List<GameObject> dense;
+    // 按加入顺序排列的对象及其加入时的编号；删除只做标记，下次读取时一次性压缩
+    private final List<GameObject> ordered;
+    private int[] orderedIds;
+    private boolean orderDirty;
+    private final TransformStore transforms;
+    private final BodyStore bodies;
+    // 每个槽位当前挂接到 transforms / bodies 的组件
+    private TransformComponent[] attachedTransforms;
+    private PhysicsComponent[] attachedBodies;
+    // 场景内的对象编号，按加入顺序递增，不复用；从对象池复用的实体重新加入时得到新编号
+    private int nextId;
+
+    public EntityTable() {
+        this.slots = new GameObject[64];
+        this.generations = new int[64];
+        this.freeSlots = new int[64];
+        this.dense = new ArrayList<>();
+        this.ordered = new ArrayList<>();
+        this.orderedIds = new int[64];
+        this.transforms = new TransformStore(64);
+        this.bodies = new BodyStore(64);
+        this.attachedTransforms = new TransformComponent[64];
+        this.attachedBodies = new PhysicsComponent[64];
+        Arrays.fill(generations, 1);
+    }
+
+    public long add(GameObject obj) {
+        if (obj.table == this) return obj.handle;
+        if (obj.table != null) {
+            throw new IllegalStateException("对象已属于另一个场景: " + obj.getName());
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == slots.length) {
+                int cap = slots.length * 2;
+                slots = Arrays.copyOf(slots, cap);
+                generations = Arrays.copyOf(generations, cap);
+                Arrays.fill(generations, slotCount, cap, 1);
+                freeSlots = Arrays.copyOf(freeSlots, cap);
+                attachedTransforms = Arrays.copyOf(attachedTransforms, cap);
+                attachedBodies = Arrays.copyOf(attachedBodies, cap);
+                transforms.ensureCapacity(cap);
+                bodies.ensureCapacity(cap);
+            }
+            slot = slotCount++;
+        }
+        slots[slot] = obj;
+        obj.table = this;
+        obj.handle = toHandle(slot, generations[slot]);
+        obj.denseIndex = dense.size();
+        obj.uniqueId = nextId++;
+        dense.add(obj);
+        if (ordered.size() == orderedIds.length) {
+            orderedIds = Arrays.copyOf(orderedIds, orderedIds.length * 2);
+        }
+        orderedIds[ordered.size()] = obj.uniqueId;
+        ordered.add(obj);
+        attachComponents(obj, slot);
+        return obj.handle;
+    }
+
+    // 对象在场景中时新增了组件
+    void onComponentAdded(GameObject obj) {
+        int slot = slotOf(obj.handle);
+        if (attachedTransforms[slot] == null || attachedBodies[slot] == null) {
+            attachComponents(obj, slot);
+        }
+    }
+
+    public boolean remove(GameObject obj) {
+        if (obj.table != this) return false;
+        int index = obj.denseIndex;
+        GameObject last = dense.remove(dense.size() - 1);
+        if (last != obj) {
+            dense.set(index, last);
+            last.denseIndex = index;
+        }
+        release(obj);
+        return true;
+    }
+
+    // 句柄对应的对象；句柄已失效（对象离开了场景）时返回 null
+    public GameObject get(long handle) {
+        int slot = slotOf(handle);
+        if (slot < 0 || slot >= slotCount || generations[slot] != generationOf(handle)) {
+            return null;
+        }
+        return slots[slot];
+    }
+
+    public boolean isAlive(long handle) {
+        return get(handle) != null;
+    }
+
+    // 稠密对象列表；由场景包装成只读视图对外提供
+    public List<GameObject> getObjects() {
+        return dense;
+    }
+
+    public int size() {
+        return dense.size();
+    }
+
+    // 按加入顺序排列的对象，不受 swap-remove 影响；有删除时本次调用先做 O(n) 压缩
+    public List<GameObject> getObjectsInAddOrder() {
+        if (orderDirty) {
+            compactOrder();
+        }
+        return ordered;
+    }
+
+    public void clear() {
+        for (int i = 0; i < dense.size(); i++) {
+            release(dense.get(i));
+        }
+        dense.clear();
+        ordered.clear();
+        orderDirty = false;
+    }
+
+    // 所有槽位的变换列；行号等于槽位号，空槽位的行内容无意义
+    public TransformStore getTransforms() {
+        return transforms;
+    }
+
+    // 所有槽位的物理积分列；行号等于槽位号，只有 present 为 true 的行有意义
+    public BodyStore getBodies() {
+        return bodies;
+    }
+
+    // 已使用过的槽位数（含空槽位），按列批量处理变换时遍历前这么多行
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    private void attachComponents(GameObject obj, int slot) {
+        if (attachedTransforms[slot] == null) {
+            TransformComponent transform = obj.getComponent(TransformComponent.class);
+            if (transform != null) {
+                transform.attach(transforms, slot);
+                attachedTransforms[slot] = transform;
+            }
+        }
+        if (attachedBodies[slot] == null) {
+            PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
+            if (physics != null) {
+                physics.attach(bodies, slot);
+                attachedBodies[slot] = physics;
+            }
+        }
+        bodies.present[slot] = attachedTransforms[slot] != null && attachedBodies[slot] != null;
+    }
+
+    // 保留仍在表中且编号未变的条目；对象被删除后又重新加入时，旧条目的编号对不上而被丢弃
+    private void compactOrder() {
+        int kept = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            GameObject obj = ordered.get(i);
+            if (obj.table == this && obj.uniqueId == orderedIds[i]) {
+                ordered.set(kept, obj);
+                orderedIds[kept] = orderedIds[i];
+                kept++;
+            }
+        }
+        ordered.subList(kept, ordered.size()).clear();
+        orderDirty = false;
+    }
+
+    private void release(GameObject obj) {
+        int slot = slotOf(obj.handle);
+        if (attachedTransforms[slot] != null) {
+            attachedTransforms[slot].detach();
+            attachedTransforms[slot] = null;
+        }
+        if (attachedBodies[slot] != null) {
+            attachedBodies[slot].detach();
+            attachedBodies[slot] = null;
+        }
+        bodies.present[slot] = false;
+        slots[slot] = null;
+        generations[slot]++;
+        freeSlots[freeCount++] = slot;
+        obj.table = null;
+        obj.handle = NO_HANDLE;
+        obj.denseIndex = -1;
+        orderDirty = true;
+    }
+
+    static long toHandle(int slot, int generation) {
+        return ((long) generation << 32) | (slot & 0xFFFFFFFFL);
+    }
+
+    public static int slotOf(long handle) {
+        return (int) handle;
+    }
+
+    public static int generationOf(long handle) {
+        return (int) (handle >>> 32);
+    }
+}
@@ -0,0 +1,140 @@
+package com.gameengine.core;
+
+import java.util.concurrent.locks.LockSupport;
+
+public class FramePacer {
+    public enum Policy {
+        VSYNC,      // 由交换链（垂直同步）节流，本类只做统计
+        TIMER,      // 由本类按目标帧率计时节流
+        UNCAPPED    // 不节流
+    }
+
+    // 距截止时间小于该值时改为自旋，弥补 parkNanos 的唤醒误差
+    private static final long SPIN_THRESHOLD_NANOS = 500_000L;
+
+    private Policy policy;
+    private long frameNanos;
+    private long nextFrameTime;
+    private long lastFrameTime;
+
+    // 帧间隔统计（Welford 在线均值/方差）
+    private long frameCount;
+    private double meanIntervalNanos;
+    private double m2;
+    private long minIntervalNanos;
+    private long maxIntervalNanos;
+    private long lastIntervalNanos;
+
+    public FramePacer(Policy policy, float targetFPS) {
+        this.policy = policy;
+        setTargetFPS(targetFPS);
+        reset();
+    }
+
+    public void setPolicy(Policy policy) {
+        this.policy = policy;
+        reset();
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public void setTargetFPS(float fps) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("目标帧率必须大于 0: " + fps);
+        }
+        this.frameNanos = (long)(1_000_000_000.0 / fps);
+    }
+
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    public void reset() {
+        long now = System.nanoTime();
+        this.lastFrameTime = now;
+        this.nextFrameTime = now + frameNanos;
+        resetStats();
+    }
+
+    public void resetStats() {
+        frameCount = 0;
+        meanIntervalNanos = 0.0;
+        m2 = 0.0;
+        minIntervalNanos = Long.MAX_VALUE;
+        maxIntervalNanos = 0;
+        lastIntervalNanos = 0;
+    }
+
+    // 在一帧工作完成后调用：按策略等待到下一帧的开始时刻
+    public void waitForNextFrame() {
+        if (policy == Policy.TIMER) {
+            waitUntil(nextFrameTime);
+            long now = System.nanoTime();
+            nextFrameTime += frameNanos;
+            // 落后超过一帧（卡顿、断点）时重新对齐，避免之后连续不等待地追帧
+            if (now - nextFrameTime > frameNanos) {
+                nextFrameTime = now + frameNanos;
+            }
+        }
+        recordInterval(System.nanoTime());
+    }
+
+    private void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        while (remaining > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void recordInterval(long now) {
+        long interval = now - lastFrameTime;
+        lastFrameTime = now;
+        lastIntervalNanos = interval;
+        frameCount++;
+        double delta = interval - meanIntervalNanos;
+        meanIntervalNanos += delta / frameCount;
+        m2 += delta * (interval - meanIntervalNanos);
+        if (interval < minIntervalNanos) minIntervalNanos = interval;
+        if (interval > maxIntervalNanos) maxIntervalNanos = interval;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public long getLastIntervalNanos() {
+        return lastIntervalNanos;
+    }
+
+    public double getMeanIntervalMillis() {
+        return meanIntervalNanos / 1_000_000.0;
+    }
+
+    // 帧间隔标准差，即抖动
+    public double getJitterMillis() {
+        if (frameCount < 2) return 0.0;
+        return Math.sqrt(m2 / (frameCount - 1)) / 1_000_000.0;
+    }
+
+    public double getMinIntervalMillis() {
+        return frameCount == 0 ? 0.0 : minIntervalNanos / 1_000_000.0;
+    }
+
+    public double getMaxIntervalMillis() {
+        return maxIntervalNanos / 1_000_000.0;
+    }
+
+    public String getStatsSummary() {
+        return String.format("frames=%d mean=%.3fms jitter=%.3fms min=%.3fms max=%.3fms",
+            frameCount, getMeanIntervalMillis(), getJitterMillis(), getMinIntervalMillis(), getMaxIntervalMillis());
+    }
+}
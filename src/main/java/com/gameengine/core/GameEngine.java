@@ -1,10 +1,16 @@
 package com.gameengine.core;
 
 import com.gameengine.graphics.IRenderer;
+import com.gameengine.graphics.PipelinedRenderer;
 import com.gameengine.graphics.RenderBackend;
 import com.gameengine.graphics.RendererFactory;
 import com.gameengine.input.InputManager;
 import com.gameengine.scene.Scene;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 public class GameEngine {
@@ -12,10 +18,46 @@ public class GameEngine {
     private InputManager inputManager;
     private Scene currentScene;
     private PhysicsSystem physicsSystem;
-    private boolean running;
+    private volatile boolean running;
     private float targetFPS;
     private float deltaTime;
     private long lastTime;
+    // 固定步长模拟：按 tickRate 推进，渲染使用插值系数
+    private boolean fixedTimestep;
+    private float tickRate;
+    private float fixedDeltaTime;
+    private int maxCatchUpSteps;
+    private float accumulator;
+    private float interpolationAlpha;
+    private long droppedTicks;
+    private FramePacer framePacer;
+    private QualityGovernor qualityGovernor;
+    // 确定性模式：固定步长 + 由同一种子派生的随机流，相同种子与输入得到相同的模拟结果
+    private boolean deterministic;
+    private RandomStreams randomStreams;
+    private WorkerPool workerPool;
+    private boolean ownsWorkerPool;
+    // 异步场景加载：后台线程执行 Scene.prepare()，完成后在游戏线程上切换
+    private ExecutorService sceneLoader;
+    private final AtomicLong sceneLoadGeneration = new AtomicLong();
+    // 准备好的场景与发起加载时的代号一起发布，游戏线程切换前再核对一次代号
+    private final AtomicReference<PendingScene> pendingScene = new AtomicReference<>();
+    private volatile boolean sceneLoading;
+    private long tickCount;
+    private long frameCount;
+    private static final float MAX_FRAME_DELTA = 0.25f;
+    // 空闲降频：窗口最小化时暂停模拟与渲染；失去焦点时降到 backgroundFPS；
+    // 静态场景在无输入时阻塞等待事件，只在输入后或 requestRedraw 时重绘
+    private boolean idleThrottling;
+    private float backgroundFPS;
+    private boolean inBackground;
+    private FramePacer.Policy foregroundPolicy;
+    private long lastInputEventCount;
+    private long lastActivityTime;
+    private static final double IDLE_WAIT_SECONDS = 0.5;
+    private static final double ICONIFIED_WAIT_SECONDS = 0.25;
+    // 输入后保持全速的时间，保证处理该输入的 tick 被渲染出来
+    private static final long ACTIVE_WINDOW_NANOS = 250_000_000L;
     @SuppressWarnings("unused")
     private String title;
     // 新录制服务（可选）
@@ -26,14 +68,35 @@ public class GameEngine {
     }
     
     public GameEngine(int width, int height, String title, RenderBackend backend) {
+        this(width, height, title, backend, InputManager.getInstance(), null);
+    }
+    
+    // 批量模拟用：每个引擎实例使用独立的输入源，并共享外部传入的线程池（为 null 时自建并在 cleanup 时关闭）
+    public GameEngine(int width, int height, String title, RenderBackend backend, InputManager inputManager, WorkerPool workerPool) {
         this.title = title;
         this.renderer = RendererFactory.createRenderer(backend, width, height, title);
-        this.inputManager = InputManager.getInstance();
+        this.inputManager = inputManager;
         this.running = false;
         this.targetFPS = 60.0f;
         this.deltaTime = 0.0f;
         this.lastTime = System.nanoTime();
-        
+        this.fixedTimestep = false;
+        this.tickRate = 60.0f;
+        this.fixedDeltaTime = 1.0f / tickRate;
+        this.maxCatchUpSteps = 5;
+        this.accumulator = 0.0f;
+        this.interpolationAlpha = 1.0f;
+        this.droppedTicks = 0;
+        this.framePacer = new FramePacer(FramePacer.Policy.TIMER, targetFPS);
+        this.qualityGovernor = new QualityGovernor(targetFPS);
+        this.deterministic = false;
+        this.idleThrottling = true;
+        this.backgroundFPS = 10.0f;
+        this.inBackground = false;
+        this.randomStreams = new RandomStreams(System.nanoTime());
+        this.ownsWorkerPool = workerPool == null;
+        this.workerPool = workerPool != null ? workerPool : new WorkerPool();
+        this.renderer.setVSync(false);
     }
     
     public boolean initialize() {
@@ -47,55 +110,174 @@ public class GameEngine {
         }
         
         running = true;
+        startCurrentScene();
         
-        if (currentScene != null) {
-            currentScene.initialize();
-            if (currentScene.getName().equals("MainMenu")) {
-                physicsSystem = null;
-            } else {
-                physicsSystem = new PhysicsSystem(currentScene, renderer.getWidth(), renderer.getHeight());
-            }
-            
-        }
-        
-        long lastFrameTime = System.nanoTime();
-        long frameTimeNanos = (long)(1_000_000_000.0 / targetFPS);
+        lastTime = System.nanoTime();
+        accumulator = 0.0f;
+        framePacer.reset();
         
         while (running) {
-            long currentTime = System.nanoTime();
-            
-            if (currentTime - lastFrameTime >= frameTimeNanos) {
+            if (idleThrottling && renderer.isIconified()) {
+                // 最小化：不模拟也不渲染，恢复后从当前时刻继续，不追帧
+                renderer.waitEvents(ICONIFIED_WAIT_SECONDS);
+                lastTime = System.nanoTime();
+                accumulator = 0.0f;
+            } else {
+                updateBackgroundPacing();
+                long frameStart = System.nanoTime();
                 update();
-                if (running) {
+                boolean active = trackInputActivity();
+                if (running && shouldRender(active)) {
                     render();
+                    // 只统计本帧的工作耗时，节流等待不计入
+                    qualityGovernor.recordFrame(System.nanoTime() - frameStart);
+                }
+                
+                if (isSceneIdle(active)) {
+                    renderer.waitEvents(IDLE_WAIT_SECONDS);
+                } else {
+                    framePacer.waitForNextFrame();
                 }
-                lastFrameTime = currentTime;
             }
             
-            renderer.pollEvents();
-            
             if (renderer.shouldClose()) {
                 running = false;
             }
-            
-            try {
-                Thread.sleep(1);
-            } catch (InterruptedException e) {
+            if (Thread.currentThread().isInterrupted()) {
                 break;
             }
         }
     }
     
+    // 不节流、不看墙钟地连续推进 ticks 个固定步长（每个 tick 渲染一帧），返回每秒 tick 数，用于基准测试
+    public double runUncapped(int ticks) {
+        if (!initialize()) {
+            System.err.println("游戏引擎初始化失败");
+            return 0.0;
+        }
+        
+        startSimulation();
+        
+        long start = System.nanoTime();
+        int done = 0;
+        while (running && done < ticks) {
+            renderer.pollEvents();
+            step();
+            done++;
+            if (running) {
+                render();
+            }
+        }
+        if (renderer instanceof PipelinedRenderer) {
+            ((PipelinedRenderer) renderer).awaitIdle();
+        }
+        long elapsed = System.nanoTime() - start;
+        running = false;
+        return elapsed > 0 ? done / (elapsed / 1_000_000_000.0) : 0.0;
+    }
+    
+    // 返回最近是否有输入活动
+    private boolean trackInputActivity() {
+        long events = inputManager.getEventCount();
+        long now = System.nanoTime();
+        if (events != lastInputEventCount) {
+            lastInputEventCount = events;
+            lastActivityTime = now;
+        }
+        return now - lastActivityTime < ACTIVE_WINDOW_NANOS;
+    }
+    
+    private boolean shouldRender(boolean active) {
+        if (!idleThrottling || currentScene == null || !currentScene.isStatic()) {
+            return true;
+        }
+        return currentScene.consumeRedrawRequest() || active;
+    }
+    
+    private boolean isSceneIdle(boolean active) {
+        return idleThrottling && !active && pendingScene.get() == null
+            && currentScene != null && currentScene.isStatic();
+    }
+    
+    // 失去焦点时按 backgroundFPS 计时节流，重新获得焦点后恢复原来的节流策略
+    private void updateBackgroundPacing() {
+        boolean background = idleThrottling && !renderer.isFocused();
+        if (background == inBackground) return;
+        inBackground = background;
+        if (background) {
+            foregroundPolicy = framePacer.getPolicy();
+            framePacer.setTargetFPS(backgroundFPS);
+            framePacer.setPolicy(FramePacer.Policy.TIMER);
+        } else {
+            framePacer.setTargetFPS(targetFPS);
+            framePacer.setPolicy(foregroundPolicy);
+        }
+    }
+    
+    // 由外部驱动的模拟：startSimulation() 后反复调用 step()，每次推进一个固定步长，不渲染、不节流
+    public void startSimulation() {
+        running = true;
+        startCurrentScene();
+        interpolationAlpha = 1.0f;
+    }
+    
+    public void step() {
+        if (!running) return;
+        applyPendingScene();
+        tick(fixedDeltaTime);
+    }
+    
+    private void startCurrentScene() {
+        if (currentScene != null) {
+            currentScene.initialize();
+            if (currentScene.getName().equals("MainMenu")) {
+                physicsSystem = null;
+            } else {
+                physicsSystem = new PhysicsSystem(currentScene, renderer.getWidth(), renderer.getHeight(), workerPool);
+            }
+            
+        }
+    }
+    
     private void update() {
         long currentTime = System.nanoTime();
-        deltaTime = (currentTime - lastTime) / 1_000_000_000.0f;
+        float frameDelta = (currentTime - lastTime) / 1_000_000_000.0f;
         lastTime = currentTime;
         
         renderer.pollEvents();
+        applyPendingScene();
         
+        if (!fixedTimestep) {
+            tick(frameDelta);
+            interpolationAlpha = 1.0f;
+            return;
+        }
         
+        // 累加真实时间，按固定步长推进；限制单帧追赶步数，避免卡顿后的“死亡螺旋”
+        accumulator += Math.min(frameDelta, MAX_FRAME_DELTA);
+        int steps = 0;
+        while (running && accumulator >= fixedDeltaTime && steps < maxCatchUpSteps) {
+            tick(fixedDeltaTime);
+            accumulator -= fixedDeltaTime;
+            steps++;
+        }
+        if (accumulator >= fixedDeltaTime) {
+            // 超出追赶上限的部分直接丢弃，只保留不足一步的余量
+            long dropped = (long)(accumulator / fixedDeltaTime);
+            droppedTicks += dropped;
+            accumulator -= dropped * fixedDeltaTime;
+        }
+        interpolationAlpha = accumulator / fixedDeltaTime;
+    }
+    
+    private void tick(float dt) {
+        deltaTime = dt;
+        tickCount++;
         
         if (currentScene != null) {
+            if (fixedTimestep) {
+                currentScene.storePreviousTransforms();
+            }
             currentScene.update(deltaTime);
         }
         
@@ -124,8 +306,10 @@ public class GameEngine {
         if (renderer == null) return;
         
         renderer.beginFrame();
+        frameCount++;
         
         if (currentScene != null) {
+            currentScene.setInterpolationAlpha(fixedTimestep ? interpolationAlpha : 1.0f);
             currentScene.render();
         }
         
@@ -133,6 +317,10 @@ public class GameEngine {
     }
     
     public void setScene(Scene scene) {
+        // 同步切换会作废尚未完成的异步加载
+        sceneLoadGeneration.incrementAndGet();
+        pendingScene.set(null);
+        sceneLoading = false;
         if (currentScene != null) {
             if (physicsSystem != null) {
                 physicsSystem.cleanup();
@@ -145,12 +333,65 @@ public class GameEngine {
             if (running) {
                 scene.initialize();
                 if (!scene.getName().equals("MainMenu") && !scene.getName().equals("Replay")) {
-                    physicsSystem = new PhysicsSystem(scene, renderer.getWidth(), renderer.getHeight());
+                    physicsSystem = new PhysicsSystem(scene, renderer.getWidth(), renderer.getHeight(), workerPool);
                 }
             }
         }
     }
     
+    // 在后台线程上准备场景（Scene.prepare），期间当前场景照常更新和渲染；
+    // 准备完成后于下一帧开始时在游戏线程上切换。再次调用或调用 setScene 会使之前的加载作废。
+    public CompletableFuture<Scene> setSceneAsync(Scene scene) {
+        long generation = sceneLoadGeneration.incrementAndGet();
+        pendingScene.set(null);
+        sceneLoading = true;
+        if (sceneLoader == null) {
+            sceneLoader = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "scene-loader");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            scene.prepare();
+            return scene;
+        }, sceneLoader).whenComplete((prepared, error) -> {
+            if (sceneLoadGeneration.get() != generation) return;
+            if (error != null) {
+                System.err.println("场景加载失败: " + error.getMessage());
+                sceneLoading = false;
+            } else {
+                // 这里的代号检查与发布之间游戏线程可能已发起新的切换，
+                // 不覆盖更新的加载结果，过期的结果由 applyPendingScene 丢弃
+                PendingScene next = new PendingScene(generation, prepared);
+                pendingScene.updateAndGet(cur -> cur != null && cur.generation > generation ? cur : next);
+                // 静态场景可能正阻塞在 waitEvents 上，唤醒主循环尽快切换
+                renderer.wakeUp();
+            }
+        });
+    }
+    
+    public boolean isSceneLoading() {
+        return sceneLoading;
+    }
+    
+    private void applyPendingScene() {
+        PendingScene pending = pendingScene.getAndSet(null);
+        if (pending == null) return;
+        if (pending.generation != sceneLoadGeneration.get()) return;
+        setScene(pending.scene);
+    }
+    
+    private static final class PendingScene {
+        final long generation;
+        final Scene scene;
+        
+        PendingScene(long generation, Scene scene) {
+            this.generation = generation;
+            this.scene = scene;
+        }
+    }
+    
     public Scene getCurrentScene() {
         return currentScene;
     }
@@ -169,6 +410,14 @@ public class GameEngine {
         if (currentScene != null) {
             currentScene.clear();
         }
+        if (sceneLoader != null) {
+            sceneLoadGeneration.incrementAndGet();
+            sceneLoader.shutdownNow();
+            sceneLoader = null;
+        }
+        if (ownsWorkerPool) {
+            workerPool.shutdown();
+        }
         renderer.cleanup();
     }
 
@@ -177,6 +426,7 @@ public class GameEngine {
         this.recordingService = service;
         try {
             if (service != null && currentScene != null) {
+                service.setSimulationInfo(randomStreams.getSeed(), deterministic, tickRate);
                 service.start(currentScene, renderer.getWidth(), renderer.getHeight());
             }
         } catch (Exception e) {
@@ -201,6 +451,48 @@ public class GameEngine {
         return renderer;
     }
     
+    // 流水线模式：场景绘制被记录为命令列表，由独立渲染线程提交，与下一 tick 的模拟并行。
+    // 场景会缓存 getRenderer() 的返回值，因此需在 setScene 之前调用。
+    public void setPipelined(boolean pipelined) {
+        if (pipelined && !(renderer instanceof PipelinedRenderer)) {
+            renderer = new PipelinedRenderer(renderer);
+        } else if (!pipelined && renderer instanceof PipelinedRenderer) {
+            PipelinedRenderer pipeline = (PipelinedRenderer) renderer;
+            pipeline.shutdown();
+            renderer = pipeline.getTarget();
+        }
+    }
+    
+    public boolean isPipelined() {
+        return renderer instanceof PipelinedRenderer;
+    }
+    
+    // 开启确定性模式：强制固定步长，并冻结画质调节（其等级依赖墙钟耗时，会改变粒子与 AI 生成）。
+    // 需在 setScene 之前调用，场景在 initialize 时从 getRandomStreams() 取随机流。
+    public void setDeterministic(long seed) {
+        this.deterministic = true;
+        this.randomStreams = new RandomStreams(seed);
+        setFixedTimestep(true);
+        qualityGovernor.reset();
+        qualityGovernor.setEnabled(false);
+    }
+    
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+    
+    public RandomStreams getRandomStreams() {
+        return randomStreams;
+    }
+    
+    public QualityGovernor getQualityGovernor() {
+        return qualityGovernor;
+    }
+    
+    public WorkerPool getWorkerPool() {
+        return workerPool;
+    }
+    
     public InputManager getInputManager() {
         return inputManager;
     }
@@ -211,12 +503,109 @@ public class GameEngine {
     
     public void setTargetFPS(float fps) {
         this.targetFPS = fps;
+        if (!inBackground) {
+            framePacer.setTargetFPS(fps);
+        }
+        qualityGovernor.setTargetFPS(fps);
+    }
+    
+    // VSYNC 由交换链节流；TIMER 由 FramePacer 精确计时；UNCAPPED 不节流
+    public void setPacingPolicy(FramePacer.Policy policy) {
+        if (inBackground) {
+            foregroundPolicy = policy;
+        } else {
+            framePacer.setPolicy(policy);
+        }
+        renderer.setVSync(policy == FramePacer.Policy.VSYNC);
+    }
+    
+    public void setIdleThrottling(boolean enabled) {
+        this.idleThrottling = enabled;
+    }
+    
+    public boolean isIdleThrottling() {
+        return idleThrottling;
+    }
+    
+    public void setBackgroundFPS(float fps) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("backgroundFPS 必须大于 0");
+        }
+        this.backgroundFPS = fps;
+        if (inBackground) {
+            framePacer.setTargetFPS(fps);
+        }
+    }
+    
+    public float getBackgroundFPS() {
+        return backgroundFPS;
+    }
+    
+    public FramePacer.Policy getPacingPolicy() {
+        return inBackground ? foregroundPolicy : framePacer.getPolicy();
+    }
+    
+    public FramePacer getFramePacer() {
+        return framePacer;
     }
     
     public float getTargetFPS() {
         return targetFPS;
     }
     
+    public void setFixedTimestep(boolean fixedTimestep) {
+        if (!fixedTimestep && deterministic) {
+            throw new IllegalStateException("确定性模式下必须使用固定步长");
+        }
+        this.fixedTimestep = fixedTimestep;
+        this.accumulator = 0.0f;
+        this.interpolationAlpha = 1.0f;
+    }
+    
+    public boolean isFixedTimestep() {
+        return fixedTimestep;
+    }
+    
+    public void setTickRate(float tickRate) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("tickRate 必须大于 0: " + tickRate);
+        }
+        this.tickRate = tickRate;
+        this.fixedDeltaTime = 1.0f / tickRate;
+    }
+    
+    public float getTickRate() {
+        return tickRate;
+    }
+    
+    public float getFixedDeltaTime() {
+        return fixedDeltaTime;
+    }
+    
+    public void setMaxCatchUpSteps(int maxCatchUpSteps) {
+        this.maxCatchUpSteps = Math.max(1, maxCatchUpSteps);
+    }
+    
+    public int getMaxCatchUpSteps() {
+        return maxCatchUpSteps;
+    }
+    
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+    
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+    
+    public long getTickCount() {
+        return tickCount;
+    }
+    
+    public long getFrameCount() {
+        return frameCount;
+    }
+    
     public boolean isRunning() {
         return running;
     }
@@ -5,18 +5,16 @@ import com.gameengine.components.TransformComponent;
 import com.gameengine.input.InputManager;
 import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 public class GameLogic {
+    // 玩家与 AI 的标签，由创建实体的一方添加
+    public static final String PLAYER_TAG = "player";
+    public static final String AI_TAG = "ai";
+    
     private Scene scene;
     private InputManager inputManager;
     private Random random;
@@ -24,7 +22,7 @@ public class GameLogic {
     private GameEngine gameEngine;
     private Map<GameObject, Vector2> aiTargetVelocities;
     private Map<GameObject, Float> aiTargetUpdateTimers;
-    private ExecutorService avoidanceExecutor;
+    private WorkerPool workerPool;
     // 参数化常量，便于调试
     private static final float IMPULSE_RESTITUTION = 0.6f;
     private static final float MAX_IMPULSE = 250f;
@@ -35,37 +33,96 @@ public class GameLogic {
     private static final float UNSTUCK_FAR_MIN_SPEED = 120f;
     private static final float UNSTUCK_FAR_VAR = 40f;
     private static final float UNSTUCK_NEAR_DIST = 12f;
-    // 每个 AI 的碰撞冷却计时
-    private Map<GameObject, Float> collisionCooldowns;
+    private static final float AVOID_RADIUS = 80f;
+    private static final float CONTACT_RADIUS = 26.0f; // 判定半径调大，便于更早触发碰撞
+    // 默认碰撞宽相中存储包围盒比紧包围盒每边多出的距离，越大越少重新放置、候选对越多
+    private static final float CONTACT_BOX_MARGIN = 8f;
+    // 查询半径额外放宽一点，抵消与逐对判定之间的浮点舍入差异
+    private static final float QUERY_MARGIN = 1f;
+    private static final int DEFAULT_PARALLEL_CONTACT_THRESHOLD = 1024;
+    // 场景标签索引的实时视图，只包含活跃对象
+    private final List<GameObject> players;
+    private final List<GameObject> aiPlayers;
+    // 避让与碰撞使用的宽相，条目 ID 都是 aiPlayers 中的下标，每个阶段开始时按当前位置刷新；
+    // 跨帧保留以利用时间相关性。默认避让用网格（格子与避让半径相同），碰撞用排序扫描
+    private Broadphase avoidanceBroadphase;
+    private int avoidanceCount;
+    private final ThreadLocal<QueryResult> avoidNeighbors;
+    private Broadphase contactBroadphase;
+    private int contactCount;
+    private final PairBuffer contactPairs;
+    // 处理过程中有 AI 被推出扩张包围盒时，它新增的候选对（最小堆）
+    private final PairBuffer lateContactPairs;
+    private final PairBuffer escapedPairs;
+    // 合并 contactPairs 与 lateContactPairs 时 contactPairs 的读取位置
+    private int contactCursor;
+    // AI 数达到阈值且线程池不止一个线程时交给 ParallelContactSolver，结果与串行逐位相同
+    private int parallelContactThreshold;
+    private final ParallelContactSolver parallelContacts;
     
     public GameLogic(Scene scene) {
         this.scene = scene;
         this.inputManager = InputManager.getInstance();
         this.random = new Random();
         this.gameOver = false;
-        this.aiTargetVelocities = new HashMap<>();
-        this.aiTargetUpdateTimers = new HashMap<>();
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.avoidanceExecutor = Executors.newFixedThreadPool(threadCount);
-        this.collisionCooldowns = new HashMap<>();
+        this.aiTargetVelocities = new LinkedHashMap<>();
+        this.aiTargetUpdateTimers = new LinkedHashMap<>();
+        this.players = scene.findGameObjectsByTag(PLAYER_TAG);
+        this.aiPlayers = scene.findGameObjectsByTag(AI_TAG);
+        this.avoidanceBroadphase = new SpatialHashGrid(AVOID_RADIUS);
+        this.avoidNeighbors = ThreadLocal.withInitial(QueryResult::new);
+        this.contactBroadphase = new SweepAndPrune(CONTACT_BOX_MARGIN);
+        this.contactPairs = new PairBuffer();
+        this.lateContactPairs = new PairBuffer();
+        this.escapedPairs = new PairBuffer();
+        this.parallelContactThreshold = DEFAULT_PARALLEL_CONTACT_THRESHOLD;
+        this.parallelContacts = new ParallelContactSolver(this);
     }
     
     public void cleanup() {
-        if (avoidanceExecutor != null && !avoidanceExecutor.isShutdown()) {
-            avoidanceExecutor.shutdown();
-            try {
-                if (!avoidanceExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    avoidanceExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                avoidanceExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
+        aiTargetVelocities.clear();
+        aiTargetUpdateTimers.clear();
+        avoidanceBroadphase.clear();
+        avoidanceCount = 0;
+        contactBroadphase.clear();
+        contactCount = 0;
+    }
+    
+    // 对象离开场景（可能被对象池复用）时调用，丢弃按对象记录的状态
+    public void forget(GameObject obj) {
+        aiTargetVelocities.remove(obj);
+        aiTargetUpdateTimers.remove(obj);
+        PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
+        if (physics != null) {
+            physics.setCollisionCooldown(0f);
         }
     }
     
     public void setGameEngine(GameEngine engine) {
         this.gameEngine = engine;
+        this.workerPool = engine != null ? engine.getWorkerPool() : null;
+        if (engine != null) {
+            this.inputManager = engine.getInputManager();
+            this.random = engine.getRandomStreams().stream("GameLogic");
+        }
+    }
+    
+    // 不经过引擎单独指定线程池（例如无窗口基准），null 表示全部串行执行
+    public void setWorkerPool(WorkerPool pool) {
+        this.workerPool = pool;
+    }
+    
+    // AI 数达到该值且线程池不止一个线程时并行求解 AI 碰撞；结果与串行相同，只影响耗时
+    public void setParallelContactThreshold(int aiCount) {
+        if (aiCount < 0) {
+            throw new IllegalArgumentException("并行碰撞阈值不能为负数: " + aiCount);
+        }
+        this.parallelContactThreshold = aiCount;
+    }
+    
+    // 并行求解中因新增的候选对确实接触而回滚部分窗口的累计次数
+    public long getContactRollbackCount() {
+        return parallelContacts.getRollbackCount();
     }
     
     public boolean isGameOver() {
@@ -73,19 +130,40 @@ public class GameLogic {
     }
     
     public GameObject getUserPlayer() {
-        for (GameObject obj : scene.getGameObjects()) {
-            if (obj.getName().equals("Player") && obj.hasComponent(PhysicsComponent.class)) {
+        for (int i = 0; i < players.size(); i++) {
+            GameObject obj = players.get(i);
+            if (obj.hasComponent(PhysicsComponent.class)) {
                 return obj;
             }
         }
         return null;
     }
     
+    // 更换避让阶段的宽相（例如按场景规模做基准后选择），新宽相会被清空
+    public void setAvoidanceBroadphase(Broadphase broadphase) {
+        broadphase.clear();
+        this.avoidanceBroadphase = broadphase;
+        this.avoidanceCount = 0;
+    }
+    
+    public Broadphase getAvoidanceBroadphase() {
+        return avoidanceBroadphase;
+    }
+    
+    // 更换 AI 碰撞阶段的宽相，新宽相会被清空；扩张余量由宽相自身决定
+    public void setContactBroadphase(Broadphase broadphase) {
+        broadphase.clear();
+        this.contactBroadphase = broadphase;
+        this.contactCount = 0;
+    }
+    
+    public Broadphase getContactBroadphase() {
+        return contactBroadphase;
+    }
+    
+    // 所有活跃 AI 的只读实时视图；遍历中让 AI 失活会修改该列表，之后应立即结束遍历
     public List<GameObject> getAIPlayers() {
-        return scene.getGameObjects().stream()
-            .filter(obj -> obj.getName().equals("AIPlayer"))
-            .filter(obj -> obj.isActive())
-            .collect(Collectors.toList());
+        return aiPlayers;
     }
     
     public void handlePlayerInput(float deltaTime) {
@@ -140,25 +218,32 @@ public class GameLogic {
         }
         
         if (movement.magnitude() > 0) {
-            movement = movement.normalize().multiply(200);
-            physics.setVelocity(movement);
+            physics.setVelocity(movement.normalizeLocal().scaleLocal(200));
         }
         
-        Vector2 pos = transform.getPosition();
+        float x = transform.getX();
+        float y = transform.getY();
         int screenW = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getWidth() : 1920;
         int screenH = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getHeight() : 1080;
-        if (pos.x < 0) pos.x = 0;
-        if (pos.y < 0) pos.y = 0;
-        if (pos.x > screenW - 20) pos.x = screenW - 20;
-        if (pos.y > screenH - 20) pos.y = screenH - 20;
-        transform.setPosition(pos);
+        if (x < 0) x = 0;
+        if (y < 0) y = 0;
+        if (x > screenW - 20) x = screenW - 20;
+        if (y > screenH - 20) y = screenH - 20;
+        transform.setPosition(x, y);
     }
     
     public void handleAIPlayerMovement(float deltaTime) {
         if (gameOver) return;
         
+        // 所有 AI 共用同一个追踪目标，循环外取一次
+        GameObject player = getUserPlayer();
+        TransformComponent playerTransform = player != null ? player.getComponent(TransformComponent.class) : null;
+        float playerX = playerTransform != null ? playerTransform.getX() : 0f;
+        float playerY = playerTransform != null ? playerTransform.getY() : 0f;
+        
         List<GameObject> aiPlayers = getAIPlayers();
-        for (GameObject aiPlayer : aiPlayers) {
+        for (int i = 0; i < aiPlayers.size(); i++) {
+            GameObject aiPlayer = aiPlayers.get(i);
             PhysicsComponent physics = aiPlayer.getComponent(PhysicsComponent.class);
             TransformComponent aiTransform = aiPlayer.getComponent(TransformComponent.class);
             if (physics == null || aiTransform == null) continue;
@@ -168,45 +253,51 @@ public class GameLogic {
 
             // 如果最近受到冲量（被弹开），优先处理弹开效果
             if (physics.hasRecentImpulse()) {
-                Vector2 impulse = physics.getLastImpulse();
-                if (impulse.magnitude() > 0) {
-                    Vector2 reverseDirection = impulse.normalize().multiply(-150);
-                    physics.setVelocity(reverseDirection);
+                float impulseX = physics.getLastImpulseX();
+                float impulseY = physics.getLastImpulseY();
+                float impulseLen = Vector2.length(impulseX, impulseY);
+                if (impulseLen > 0) {
+                    physics.setVelocity((impulseX / impulseLen) * -150, (impulseY / impulseLen) * -150);
                 }
                 continue;
             }
 
             // 朝玩家移动
-            GameObject player = getUserPlayer();
-            Vector2 playerPos = (player != null && player.getComponent(TransformComponent.class) != null)
-                ? player.getComponent(TransformComponent.class).getPosition()
-                : new Vector2(0,0);
-
-            Vector2 dir = playerPos.subtract(aiTransform.getPosition());
-            if (dir.magnitude() > 0.1f) {
-                dir = dir.normalize();
+            float aiX = aiTransform.getX();
+            float aiY = aiTransform.getY();
+            float dirX = playerX - aiX;
+            float dirY = playerY - aiY;
+            float dirLen = Vector2.length(dirX, dirY);
+            if (dirLen > 0.1f) {
+                dirX = dirX / dirLen;
+                dirY = dirY / dirLen;
                 float baseSpeed = 100f;
-                Vector2 desired = dir.multiply(baseSpeed);
+                float desiredX = dirX * baseSpeed;
+                float desiredY = dirY * baseSpeed;
 
-                Vector2 current = physics.getVelocity();
+                float currentX = physics.getVelocityX();
+                float currentY = physics.getVelocityY();
                 float lerp = 0.08f;
-                Vector2 newVel = new Vector2(
-                    current.x + (desired.x - current.x) * lerp,
-                    current.y + (desired.y - current.y) * lerp
-                );
+                float newX = currentX + (desiredX - currentX) * lerp;
+                float newY = currentY + (desiredY - currentY) * lerp;
                 float maxSpeed = 180f;
-                if (newVel.magnitude() > maxSpeed) newVel = newVel.normalize().multiply(maxSpeed);
+                float newLen = Vector2.length(newX, newY);
+                if (newLen > maxSpeed) {
+                    newX = (newX / newLen) * maxSpeed;
+                    newY = (newY / newLen) * maxSpeed;
+                    newLen = Vector2.length(newX, newY);
+                }
                 // 如果 AI 速度非常小（可能被卡住），强制一次朝玩家方向的解卡速度
-                if (newVel.magnitude() < UNSTUCK_THRESHOLD) {
+                if (newLen < UNSTUCK_THRESHOLD) {
                     // 只有在距离玩家较远时才强制解卡，避免近距离穿过玩家
-                    if (playerPos.distance(aiTransform.getPosition()) > UNSTUCK_NEAR_DIST) {
-                        newVel = dir.multiply(UNSTUCK_FAR_MIN_SPEED + (random.nextFloat() * UNSTUCK_FAR_VAR));
-                    } else {
+                    float speed = Vector2.distance(playerX, playerY, aiX, aiY) > UNSTUCK_NEAR_DIST
+                        ? UNSTUCK_FAR_MIN_SPEED + (random.nextFloat() * UNSTUCK_FAR_VAR)
                         // 近距离则给一点小速度避免粘连
-                        newVel = dir.multiply(UNSTUCK_NEAR_SPEED);
-                    }
+                        : UNSTUCK_NEAR_SPEED;
+                    newX = dirX * speed;
+                    newY = dirY * speed;
                 }
-                physics.setVelocity(newVel);
+                physics.setVelocity(newX, newY);
             }
         }
     }
@@ -218,7 +309,8 @@ public class GameLogic {
         List<GameObject> aiPlayers = getAIPlayers();
         if (aiPlayers.isEmpty()) return;
         
-        if (aiPlayers.size() < 10) {
+        avoidanceCount = refreshBroadphase(avoidanceBroadphase, aiPlayers, avoidanceCount, false);
+        if (aiPlayers.size() < 10 || workerPool == null) {
             handleAIPlayerAvoidanceSerial(aiPlayers, deltaTime);
         } else {
             handleAIPlayerAvoidanceParallel(aiPlayers, deltaTime);
@@ -232,32 +324,11 @@ public class GameLogic {
     }
     
     private void handleAIPlayerAvoidanceParallel(List<GameObject> aiPlayers, float deltaTime) {
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, aiPlayers.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
-        
-        for (int i = 0; i < aiPlayers.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, aiPlayers.size());
-            
-            Future<?> future = avoidanceExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    processAvoidanceForPlayer(aiPlayers, j, deltaTime);
-                }
-            });
-            
-            futures.add(future);
-        }
-        
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
+        workerPool.parallelFor(0, aiPlayers.size(), 8, (start, end) -> {
+            for (int j = start; j < end; j++) {
+                processAvoidanceForPlayer(aiPlayers, j, deltaTime);
             }
-        }
+        });
     }
     
     private void processAvoidanceForPlayer(List<GameObject> aiPlayers, int index, float deltaTime) {
@@ -267,49 +338,75 @@ public class GameLogic {
         
         if (transform1 == null || physics1 == null) return;
         
-        Vector2 pos1 = transform1.getPosition();
-        Vector2 avoidance = new Vector2();
+        // 只检查宽相给出的邻居；按下标升序累加，结果与逐对扫描后面所有 AI 逐位相同
+        float pos1x = transform1.getX();
+        float pos1y = transform1.getY();
+        float avoidX = 0f;
+        float avoidY = 0f;
         
-        for (int j = index + 1; j < aiPlayers.size(); j++) {
-            GameObject aiPlayer2 = aiPlayers.get(j);
-            TransformComponent transform2 = aiPlayer2.getComponent(TransformComponent.class);
+        QueryResult neighbors = avoidNeighbors.get();
+        neighbors.clear();
+        avoidanceBroadphase.queryRadius(pos1x, pos1y, AVOID_RADIUS + QUERY_MARGIN, neighbors);
+        neighbors.sort();
+        for (int k = 0; k < neighbors.size(); k++) {
+            int j = neighbors.get(k);
+            if (j <= index) continue;
+            TransformComponent transform2 = aiPlayers.get(j).getComponent(TransformComponent.class);
             
-            if (transform2 == null) continue;
+            float dx = pos1x - transform2.getX();
+            float dy = pos1y - transform2.getY();
+            float distance = Vector2.length(dx, dy);
             
-            Vector2 pos2 = transform2.getPosition();
-            float distance = pos1.distance(pos2);
-            
-            if (distance < 80 && distance > 0) {
-                Vector2 direction = pos1.subtract(pos2).normalize();
-                float strength = (80 - distance) / 80.0f;
-                avoidance = avoidance.add(direction.multiply(strength * 50));
+            if (distance < AVOID_RADIUS && distance > 0) {
+                float strength = (AVOID_RADIUS - distance) / AVOID_RADIUS;
+                float push = strength * 50;
+                avoidX += (dx / distance) * push;
+                avoidY += (dy / distance) * push;
             }
         }
         
-        if (avoidance.magnitude() > 0) {
-            Vector2 currentVelocity = physics1.getVelocity();
+        float avoidLen = Vector2.length(avoidX, avoidY);
+        if (avoidLen > 0) {
+            float currentX = physics1.getVelocityX();
+            float currentY = physics1.getVelocityY();
             float lerpFactor = 0.15f;
-            Vector2 avoidanceDirection = avoidance.normalize();
-            float avoidanceStrength = Math.min(avoidance.magnitude(), 50f);
+            float avoidanceStrength = Math.min(avoidLen, 50f);
+            float step = avoidanceStrength * deltaTime * 10;
             
-            Vector2 targetVelocity = currentVelocity.add(
-                avoidanceDirection.multiply(avoidanceStrength * deltaTime * 10)
-            );
+            float targetX = currentX + (avoidX / avoidLen) * step;
+            float targetY = currentY + (avoidY / avoidLen) * step;
             
-            Vector2 newVelocity = new Vector2(
-                currentVelocity.x + (targetVelocity.x - currentVelocity.x) * lerpFactor,
-                currentVelocity.y + (targetVelocity.y - currentVelocity.y) * lerpFactor
-            );
+            float newX = currentX + (targetX - currentX) * lerpFactor;
+            float newY = currentY + (targetY - currentY) * lerpFactor;
             
             float maxSpeed = 150f;
-            if (newVelocity.magnitude() > maxSpeed) {
-                newVelocity = newVelocity.normalize().multiply(maxSpeed);
+            float newLen = Vector2.length(newX, newY);
+            if (newLen > maxSpeed) {
+                newX = (newX / newLen) * maxSpeed;
+                newY = (newY / newLen) * maxSpeed;
             }
             
-            physics1.setVelocity(newVelocity);
+            physics1.setVelocity(newX, newY);
         }
     }
     
+    // 把速度朝 (targetX, targetY) 方向（速率 100）修正 28%
+    private static void steerTowards(PhysicsComponent physics, float x, float y, float targetX, float targetY) {
+        float velocityX = physics.getVelocityX();
+        float velocityY = physics.getVelocityY();
+        float desiredX = targetX - x;
+        float desiredY = targetY - y;
+        float len = Vector2.length(desiredX, desiredY);
+        if (len > 0) {
+            desiredX = (desiredX / len) * 100f;
+            desiredY = (desiredY / len) * 100f;
+        }
+        physics.setVelocity(
+            velocityX + (desiredX - velocityX) * 0.28f,
+            velocityY + (desiredY - velocityY) * 0.28f
+        );
+    }
+    
     public void checkCollisions(float deltaTime) {
         GameObject userPlayer = getUserPlayer();
         if (userPlayer == null) return;
@@ -318,7 +415,8 @@ public class GameLogic {
         TransformComponent playerTransform = userPlayer.getComponent(TransformComponent.class);
         if (playerTransform == null) return;
         
-        Vector2 playerPos = playerTransform.getPosition();
+        float playerX = playerTransform.getX();
+        float playerY = playerTransform.getY();
         
         // 更新玩家无敌计时器
         if (playerPhysics != null) {
@@ -327,17 +425,16 @@ public class GameLogic {
         
         List<GameObject> aiPlayers = getAIPlayers();
         // 更新碰撞冷却计时器
-        java.util.List<GameObject> cooldownToRemove = new java.util.ArrayList<>();
-        for (java.util.Map.Entry<GameObject, Float> e : collisionCooldowns.entrySet()) {
-            float v = e.getValue() - deltaTime;
-            if (v <= 0) cooldownToRemove.add(e.getKey());
-            else collisionCooldowns.put(e.getKey(), v);
+        for (int i = 0; i < aiPlayers.size(); i++) {
+            PhysicsComponent physics = aiPlayers.get(i).getComponent(PhysicsComponent.class);
+            if (physics != null) {
+                physics.updateCollisionCooldown(deltaTime);
+            }
         }
-        for (GameObject k : cooldownToRemove) collisionCooldowns.remove(k);
-        for (GameObject aiPlayer : aiPlayers) {
-            TransformComponent aiTransform = aiPlayer.getComponent(TransformComponent.class);
+        for (int i = 0; i < aiPlayers.size(); i++) {
+            TransformComponent aiTransform = aiPlayers.get(i).getComponent(TransformComponent.class);
             if (aiTransform != null) {
-                float distance = playerPos.distance(aiTransform.getPosition());
+                float distance = Vector2.distance(playerX, playerY, aiTransform.getX(), aiTransform.getY());
                 if (distance < 30) {
                     if (playerPhysics != null) {
                         // 每次与敌人接触扣 1 点血（与心数对应）
@@ -352,81 +449,172 @@ public class GameLogic {
         }
         
         // AI vs AI 碰撞处理：弹开（简单弹性冲量），并稍微分离重叠
-        int n = aiPlayers.size();
-        for (int i = 0; i < n; i++) {
+        // 候选对来自宽相，按 (i, j) 字典序处理，顺序与双重循环一致
+        contactCount = refreshBroadphase(contactBroadphase, aiPlayers, contactCount, true);
+        PairBuffer pairs = contactPairs;
+        pairs.clear();
+        lateContactPairs.clear();
+        contactBroadphase.collectPairs(pairs);
+        pairs.sort();
+        contactCursor = 0;
+        if (workerPool != null && workerPool.getParallelism() > 1 && aiPlayers.size() >= parallelContactThreshold) {
+            parallelContacts.solve(workerPool, aiPlayers, playerX, playerY);
+        } else {
+            solveContactsSerial(aiPlayers, playerX, playerY);
+        }
+    }
+    
+    private void solveContactsSerial(List<GameObject> aiPlayers, float playerX, float playerY) {
+        long processed = -1;
+        long key;
+        while ((key = nextContactKey(processed)) >= 0) {
+            processed = key;
+            int i = PairBuffer.firstOf(key);
+            int j = PairBuffer.secondOf(key);
             GameObject a = aiPlayers.get(i);
-            TransformComponent ta = a.getComponent(TransformComponent.class);
-            PhysicsComponent pa = a.getComponent(PhysicsComponent.class);
-            if (ta == null || pa == null) continue;
-            for (int j = i + 1; j < n; j++) {
-                GameObject b = aiPlayers.get(j);
-                TransformComponent tb = b.getComponent(TransformComponent.class);
-                PhysicsComponent pb = b.getComponent(PhysicsComponent.class);
-                if (tb == null || pb == null) continue;
-
-                Vector2 posA = ta.getPosition();
-                Vector2 posB = tb.getPosition();
-                float dist = posA.distance(posB);
-                float minDist = 26.0f; // 判定半径调大，便于更早触发碰撞
-
-                if (dist > 0 && dist < minDist) {
-                    // 法线（从 B 到 A）
-                    Vector2 normal = posA.subtract(posB).normalize();
+            GameObject b = aiPlayers.get(j);
+            if (resolveContact(a, b, playerX, playerY)) {
+                // 分离可能把某一方推出扩张包围盒：更新包围盒，把它新的候选对并入待处理序列
+                TransformComponent ti = a.getComponent(TransformComponent.class);
+                TransformComponent tj = b.getComponent(TransformComponent.class);
+                refitAndQueue(i, ti.getX(), ti.getY(), processed);
+                refitAndQueue(j, tj.getX(), tj.getY(), processed);
+            }
+        }
+    }
+    
+    // 合并有序的 contactPairs 与最小堆 lateContactPairs，返回下一个大于 after 的键，没有时返回 -1；
+    // 处理过的键和重复的对直接跳过
+    long nextContactKey(long after) {
+        PairBuffer pairs = contactPairs;
+        PairBuffer late = lateContactPairs;
+        while (contactCursor < pairs.size() || late.size() > 0) {
+            long key;
+            if (late.size() == 0 || (contactCursor < pairs.size() && pairs.key(contactCursor) <= late.peekMin())) {
+                key = pairs.key(contactCursor++);
+            } else {
+                key = late.pollMin();
+            }
+            if (key > after) return key;
+        }
+        return -1;
+    }
+    
+    // 处理过程中新增的候选对（最小堆），并行求解回滚时把作废的对放回这里
+    PairBuffer getLateContactPairs() {
+        return lateContactPairs;
+    }
+    
+    // 两个 AI 是否接触；串行求解与并行重放共用同一判定
+    static boolean inContact(float ax, float ay, float bx, float by) {
+        float dist = Vector2.distance(ax, ay, bx, by);
+        return dist > 0 && dist < CONTACT_RADIUS;
+    }
+    
+    // 求解一对 AI，只读写这两个 AI 的状态，可以在工作线程上对互不相交的对同时调用。
+    // 不接触时不做任何修改；返回是否做了位置分离
+    boolean resolveContact(GameObject a, GameObject b, float playerX, float playerY) {
+        TransformComponent ta = a.getComponent(TransformComponent.class);
+        PhysicsComponent pa = a.getComponent(PhysicsComponent.class);
+        TransformComponent tb = b.getComponent(TransformComponent.class);
+        PhysicsComponent pb = b.getComponent(PhysicsComponent.class);
 
-                    // 相对速度
-                    Vector2 va = pa.getVelocity();
-                    Vector2 vb = pb.getVelocity();
-                    Vector2 relVel = va.subtract(vb);
+        float ax = ta.getX();
+        float ay = ta.getY();
+        float bx = tb.getX();
+        float by = tb.getY();
+        // 与 inContact 相同的判定，这里还要用到距离本身
+        float dist = Vector2.distance(ax, ay, bx, by);
+        float minDist = CONTACT_RADIUS;
+        if (!(dist > 0 && dist < minDist)) return false;
 
-                    float relAlongNormal = relVel.dot(normal);
-                    if (relAlongNormal < 0) {
-                        // 检查碰撞冷却：若任意一方在冷却中，则跳过施加冲量（仍会做位置分离）
-                        float cdA = collisionCooldowns.getOrDefault(a, 0f);
-                        float cdB = collisionCooldowns.getOrDefault(b, 0f);
-                        if (cdA <= 0f && cdB <= 0f) {
-                            // 两物体正相互接近，计算冲量（适度，避免过强弹开导致抖动）
-                            float ma = pa.getMass();
-                            float mb = pb.getMass();
-                            float impulseMag = -(1 + IMPULSE_RESTITUTION) * relAlongNormal / (1.0f / ma + 1.0f / mb);
-                            if (impulseMag > MAX_IMPULSE) impulseMag = MAX_IMPULSE;
-                            Vector2 impulse = normal.multiply(impulseMag);
-                            pa.applyImpulse(impulse);
-                            pb.applyImpulse(impulse.multiply(-1));
-                            // 设置冷却，避免短时间内重复施加强力
-                            collisionCooldowns.put(a, COLLISION_COOLDOWN);
-                            collisionCooldowns.put(b, COLLISION_COOLDOWN);
-                        }
-                    }
+        // 法线（从 B 到 A）
+        float nx = (ax - bx) / dist;
+        float ny = (ay - by) / dist;
 
-                    // 更积极的位置分离，避免粘连并让弹开可见
-                    float overlap = minDist - dist;
-                    if (overlap > 0) {
-                        float totalMass = pa.getMass() + pb.getMass();
-                        float moveA = overlap * (pb.getMass() / totalMass) * SEPARATION_MULT;
-                        float moveB = overlap * (pa.getMass() / totalMass) * SEPARATION_MULT;
-                        ta.setPosition(posA.add(normal.multiply(moveA)));
-                        tb.setPosition(posB.subtract(normal.multiply(moveB)));
-                        // 碰撞后轻微将速度朝玩家方向修正，帮助实体恢复朝向并减少抖动
-                        Vector2 vaAfter = pa.getVelocity();
-                        Vector2 desiredA = playerPos.subtract(posA);
-                        if (desiredA.magnitude() > 0) desiredA = desiredA.normalize().multiply(100f);
-                        Vector2 newVa = new Vector2(
-                            vaAfter.x + (desiredA.x - vaAfter.x) * 0.28f,
-                            vaAfter.y + (desiredA.y - vaAfter.y) * 0.28f
-                        );
-                        pa.setVelocity(newVa);
+        // 相对速度
+        float relAlongNormal = Vector2.dot(
+            pa.getVelocityX() - pb.getVelocityX(), pa.getVelocityY() - pb.getVelocityY(), nx, ny);
+        if (relAlongNormal < 0) {
+            // 检查碰撞冷却：若任意一方在冷却中，则跳过施加冲量（仍会做位置分离）
+            if (pa.getCollisionCooldown() <= 0f && pb.getCollisionCooldown() <= 0f) {
+                // 两物体正相互接近，计算冲量（适度，避免过强弹开导致抖动）
+                float ma = pa.getMass();
+                float mb = pb.getMass();
+                float impulseMag = -(1 + IMPULSE_RESTITUTION) * relAlongNormal / (1.0f / ma + 1.0f / mb);
+                if (impulseMag > MAX_IMPULSE) impulseMag = MAX_IMPULSE;
+                float impulseX = nx * impulseMag;
+                float impulseY = ny * impulseMag;
+                pa.applyImpulse(impulseX, impulseY);
+                pb.applyImpulse(-impulseX, -impulseY);
+                // 设置冷却，避免短时间内重复施加强力
+                pa.setCollisionCooldown(COLLISION_COOLDOWN);
+                pb.setCollisionCooldown(COLLISION_COOLDOWN);
+            }
+        }
 
-                        Vector2 vbAfter = pb.getVelocity();
-                        Vector2 desiredB = playerPos.subtract(posB);
-                        if (desiredB.magnitude() > 0) desiredB = desiredB.normalize().multiply(100f);
-                        Vector2 newVb = new Vector2(
-                            vbAfter.x + (desiredB.x - vbAfter.x) * 0.28f,
-                            vbAfter.y + (desiredB.y - vbAfter.y) * 0.28f
-                        );
-                        pb.setVelocity(newVb);
-                    }
-                }
+        // 更积极的位置分离，避免粘连并让弹开可见（dist < minDist，重叠量必为正）
+        float overlap = minDist - dist;
+        float totalMass = pa.getMass() + pb.getMass();
+        float moveA = overlap * (pb.getMass() / totalMass) * SEPARATION_MULT;
+        float moveB = overlap * (pa.getMass() / totalMass) * SEPARATION_MULT;
+        ta.setPosition(ax + nx * moveA, ay + ny * moveA);
+        tb.setPosition(bx - nx * moveB, by - ny * moveB);
+        // 碰撞后轻微将速度朝玩家方向修正，帮助实体恢复朝向并减少抖动
+        steerTowards(pa, ax, ay, playerX, playerY);
+        steerTowards(pb, bx, by, playerX, playerY);
+        return true;
+    }
+    
+    // 紧包围盒越界时宽相会重新放置该条目，把新增的、尚未处理到的（键大于 processed）候选对放入待处理堆。
+    // 与旧包围盒就已相交的对一定已在待处理序列中，不再重复加入
+    void refitAndQueue(int id, float x, float y, long processed) {
+        Broadphase broadphase = contactBroadphase;
+        float oldMinX = broadphase.getMinX(id);
+        float oldMinY = broadphase.getMinY(id);
+        float oldMaxX = broadphase.getMaxX(id);
+        float oldMaxY = broadphase.getMaxY(id);
+        if (!refitContactBox(id, x, y)) return;
+        PairBuffer found = escapedPairs;
+        found.clear();
+        broadphase.collectPairsWith(id, found);
+        for (int p = 0; p < found.size(); p++) {
+            long key = found.key(p);
+            if (key <= processed) continue;
+            int other = found.first(p) == id ? found.second(p) : found.first(p);
+            boolean overlappedBefore = broadphase.getMinX(other) <= oldMaxX && broadphase.getMaxX(other) >= oldMinX
+                && broadphase.getMinY(other) <= oldMaxY && broadphase.getMaxY(other) >= oldMinY;
+            if (!overlappedBefore) {
+                lateContactPairs.offer(key);
+            }
+        }
+    }
+    
+    // 紧包围盒：半边长为接触半径的一半，另加舍入余量。两个 AI 距离小于接触半径时紧包围盒必然相交，
+    // 宽相存储的包围盒总包含紧包围盒，所以这一对一定在候选里。返回宽相是否移动了该条目
+    private boolean refitContactBox(int id, float x, float y) {
+        float half = CONTACT_RADIUS / 2 + QUERY_MARGIN;
+        return contactBroadphase.update(id, x - half, y - half, x + half, y + half);
+    }
+    
+    // 把 aiPlayers 按下标登记到宽相：避让登记位置点（只要求 Transform），碰撞登记紧包围盒（还要求 Physics）；
+    // 不满足条件的下标和超出列表长度的旧下标被移除。返回本次登记的列表长度，作为下一次的 previousCount
+    private int refreshBroadphase(Broadphase broadphase, List<GameObject> aiPlayers, int previousCount, boolean contacts) {
+        int n = aiPlayers.size();
+        for (int i = 0; i < n; i++) {
+            GameObject ai = aiPlayers.get(i);
+            TransformComponent transform = ai.getComponent(TransformComponent.class);
+            if (transform == null || (contacts && !ai.hasComponent(PhysicsComponent.class))) {
+                broadphase.remove(i);
+            } else if (contacts) {
+                refitContactBox(i, transform.getX(), transform.getY());
+            } else {
+                broadphase.update(i, transform.getX(), transform.getY(), transform.getX(), transform.getY());
             }
         }
+        for (int i = n; i < previousCount; i++) {
+            broadphase.remove(i);
+        }
+        return n;
     }
 }
@@ -6,14 +6,33 @@ public class GameObject {
     protected boolean active;
     protected String name;
     protected final List<Component<?>> components;
-    protected static int idCounter = 0;
-    protected final int uniqueId;
+    // 场景内编号，每次加入场景时由实体表分配；从未加入场景时为 -1
+    protected int uniqueId = -1;
+    // 标签位掩码，位号由 TagRegistry 分配
+    protected long tagMask;
+    // 按组件类型 ID 索引的槽位，getComponent 直接按下标取；同一类型有多个组件时保留最先添加的
+    private Component<?>[] slots;
+    // 所在场景的原型存储及行号；不在场景中时为 null，组件查找退回线性扫描
+    ArchetypeStorage storage;
+    Archetype archetype;
+    int archetypeRow = -1;
+    // 所在场景的名称/标签索引；不在场景中时为 null
+    SceneIndex index;
+    // 在索引名称列表中的下标，以及按标签 ID 的下标（有标签时才分配）
+    int namePosition = -1;
+    int[] tagPositions;
+    // 所在场景的实体表、句柄及在稠密列表中的下标
+    EntityTable table;
+    long handle = EntityTable.NO_HANDLE;
+    int denseIndex = -1;
+    // 已被 Prefab 的对象池回收、等待复用
+    boolean pooled;
     
     public GameObject() {
         this.active = true;
         this.name = "GameObject";
         this.components = new ArrayList<>();
-        this.uniqueId = idCounter++;
+        this.slots = new Component<?>[ComponentTypeRegistry.size()];
     }
     
     public GameObject(String name) {
@@ -33,37 +52,68 @@ public class GameObject {
     }
     
     public void destroy() {
+        if (index != null) {
+            index.remove(this);
+        }
         this.active = false;
+        if (storage != null) {
+            storage.remove(this);
+        }
         for (Component<?> component : components) {
             component.destroy();
         }
         components.clear();
+        Arrays.fill(slots, null);
     }
     
     public <T extends Component<T>> T addComponent(T component) {
         component.setOwner(this);
         components.add(component);
+        for (int id : ComponentTypeRegistry.hierarchyIdsOf(component.getClass())) {
+            if (id >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(id + 1, ComponentTypeRegistry.size()));
+            }
+            if (slots[id] == null) {
+                slots[id] = component;
+            }
+        }
+        if (storage != null) {
+            storage.onComponentsChanged(this);
+        }
+        if (table != null) {
+            table.onComponentAdded(this);
+        }
         component.initialize();
         return component;
     }
     
     @SuppressWarnings("unchecked")
     public <T extends Component<T>> T getComponent(Class<T> componentType) {
+        int id = ComponentTypeRegistry.idOf(componentType);
+        return id < slots.length ? (T) slots[id] : null;
+    }
+    
+    public <T extends Component<T>> boolean hasComponent(Class<T> componentType) {
+        return getComponent(componentType) != null;
+    }
+    
+    // 组件具体类型 ID 的集合，用于确定所属原型
+    BitSet signature() {
+        BitSet signature = new BitSet();
         for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return (T) component;
-            }
+            signature.set(ComponentTypeRegistry.idOf(component.getClass()));
         }
-        return null;
+        return signature;
     }
     
-    public <T extends Component<T>> boolean hasComponent(Class<T> componentType) {
+    // 同一类型有多个组件时取最先添加的，与线性查找的结果一致
+    Component<?> findComponentOfClass(Class<?> type) {
         for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return true;
+            if (component.getClass() == type) {
+                return component;
             }
         }
-        return false;
+        return null;
     }
     
     public void updateComponents(float deltaTime) {
@@ -87,7 +137,11 @@ public class GameObject {
     }
     
     public void setActive(boolean active) {
+        if (this.active == active) return;
         this.active = active;
+        if (index != null) {
+            index.onActiveChanged(this);
+        }
     }
     
     public String getName() {
@@ -95,10 +149,44 @@ public class GameObject {
     }
     
     public void setName(String name) {
+        String oldName = this.name;
         this.name = name;
+        if (index != null) {
+            index.onNameChanged(this, oldName);
+        }
+    }
+    
+    public void addTag(String tag) {
+        setTagMask(tagMask | TagRegistry.maskOf(tag));
+    }
+    
+    public void removeTag(String tag) {
+        setTagMask(tagMask & ~TagRegistry.maskOf(tag));
+    }
+    
+    public boolean hasTag(String tag) {
+        return (tagMask & TagRegistry.maskOf(tag)) != 0;
+    }
+    
+    public long getTagMask() {
+        return tagMask;
+    }
+    
+    private void setTagMask(long mask) {
+        long oldMask = tagMask;
+        if (oldMask == mask) return;
+        tagMask = mask;
+        if (index != null) {
+            index.onTagsChanged(this, oldMask);
+        }
     }
     
     public int getUniqueId() {
         return uniqueId;
     }
+    
+    // 所在场景中的句柄；不在场景中时为 EntityTable.NO_HANDLE
+    public long getHandle() {
+        return handle;
+    }
 }
@@ -0,0 +1,116 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 对象池：回收不再使用的实例，下次 acquire 时直接复用，避免频繁生成和死亡的对象产生垃圾。
+// 实例在 release 时通过 Resetter 恢复初始状态，池满时多余的实例直接丢弃。
+// 不是线程安全的，应只在同一个线程（通常是游戏主循环）中使用。
+public class ObjectPool<T> {
+    public interface Factory<T> {
+        T create();
+    }
+
+    public interface Resetter<T> {
+        void reset(T obj);
+    }
+
+    private final Factory<T> factory;
+    private final Resetter<T> resetter;
+    private final int maxSize;
+    private Object[] free;
+    private int freeCount;
+    // 统计：命中（复用）、未命中（新建）、回收、因池满丢弃
+    private long hits;
+    private long misses;
+    private long releases;
+    private long dropped;
+
+    public ObjectPool(Factory<T> factory, Resetter<T> resetter, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize 必须大于 0");
+        }
+        this.factory = factory;
+        this.resetter = resetter;
+        this.maxSize = maxSize;
+        this.free = new Object[Math.min(maxSize, 16)];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if (freeCount > 0) {
+            hits++;
+            T obj = (T) free[--freeCount];
+            free[freeCount] = null;
+            return obj;
+        }
+        misses++;
+        return factory.create();
+    }
+
+    public void release(T obj) {
+        if (obj == null) return;
+        releases++;
+        if (resetter != null) {
+            resetter.reset(obj);
+        }
+        if (freeCount == maxSize) {
+            dropped++;
+            return;
+        }
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, Math.min(maxSize, free.length * 2));
+        }
+        free[freeCount++] = obj;
+    }
+
+    // 预先创建 count 个实例放入池中（不计入命中/未命中）
+    public void prewarm(int count) {
+        int target = Math.min(maxSize, freeCount + count);
+        while (freeCount < target) {
+            T obj = factory.create();
+            if (free.length == freeCount) {
+                free = Arrays.copyOf(free, Math.min(maxSize, free.length * 2));
+            }
+            free[freeCount++] = obj;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(free, 0, freeCount, null);
+        freeCount = 0;
+    }
+
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getReleases() {
+        return releases;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total > 0 ? hits / (double) total : 0.0;
+    }
+
+    public String getStatsSummary() {
+        return String.format("hits=%d misses=%d hitRate=%.1f%% released=%d dropped=%d free=%d",
+            hits, misses, getHitRate() * 100.0, releases, dropped, freeCount);
+    }
+}
@@ -0,0 +1,95 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 候选碰撞对列表：每对打包成一个 long（较小的 ID 在高 32 位），
+// 按 long 排序即按 (first, second) 字典序，与双重循环 i < j 的遍历顺序一致。ID 必须非负。
+//
+// 也可以当作最小堆使用：offer/peekMin/pollMin 维护堆序，同一个实例不要与 add/sort 混用。
+public final class PairBuffer {
+    private long[] pairs = new long[64];
+    private int size;
+
+    public static long keyOf(int a, int b) {
+        int lo = Math.min(a, b);
+        int hi = Math.max(a, b);
+        return ((long) lo << 32) | hi;
+    }
+
+    public static int firstOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    public static int secondOf(long key) {
+        return (int) key;
+    }
+
+    public void add(int a, int b) {
+        if (size == pairs.length) {
+            pairs = Arrays.copyOf(pairs, size * 2);
+        }
+        pairs[size++] = keyOf(a, b);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // 较小的 ID
+    public int first(int index) {
+        return firstOf(pairs[index]);
+    }
+
+    // 较大的 ID
+    public int second(int index) {
+        return secondOf(pairs[index]);
+    }
+
+    public long key(int index) {
+        return pairs[index];
+    }
+
+    public void sort() {
+        Arrays.sort(pairs, 0, size);
+    }
+
+    // 按堆序插入一个键
+    public void offer(long key) {
+        if (size == pairs.length) {
+            pairs = Arrays.copyOf(pairs, size * 2);
+        }
+        int child = size++;
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (pairs[parent] <= key) break;
+            pairs[child] = pairs[parent];
+            child = parent;
+        }
+        pairs[child] = key;
+    }
+
+    // 堆中最小的键；堆为空时调用方应先检查 size()
+    public long peekMin() {
+        return pairs[0];
+    }
+
+    public long pollMin() {
+        long min = pairs[0];
+        long last = pairs[--size];
+        int parent = 0;
+        int half = size >>> 1;
+        while (parent < half) {
+            int child = 2 * parent + 1;
+            if (child + 1 < size && pairs[child + 1] < pairs[child]) child++;
+            if (last <= pairs[child]) break;
+            pairs[parent] = pairs[child];
+            parent = child;
+        }
+        if (size > 0) pairs[parent] = last;
+        return min;
+    }
+}
@@ -0,0 +1,240 @@
+package com.gameengine.core;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import java.util.Arrays;
+import java.util.List;
+
+// AI 碰撞的并行求解，结果与 GameLogic 的串行路径逐位相同。
+// 按键序每次取一个窗口：先按 ContactSchedule 分层并行执行窗口内全部的对，再在调用线程按键序重放串行路径对宽相的操作。
+// 串行路径中，分离把 AI 推出扩张包围盒时会在后面的键位置插入新的候选对；重放发现这样的对确实接触时，
+// 窗口从它的键位置起作废：之后的对回滚到执行前的状态并放回待处理序列，下一个窗口从这里继续。
+// 对的判定、求解与宽相维护都调用 GameLogic 中串行路径的同一份代码，这里只负责调度、日志、重放与回滚。
+final class ParallelContactSolver {
+    // 每个窗口的对数上限，重放发现冲突时最多回滚一个窗口。发生回滚后窗口减半，完整提交后加倍，
+    // 拥挤场景里冲突频繁时不至于每次都作废一整个大窗口；窗口大小不影响结果
+    private static final int WINDOW = 2048;
+    private static final int MIN_WINDOW = 64;
+    private static final int LEVEL_BATCH = 32;
+    // 每个 AI 被求解修改的状态：位置、速度、最近冲量与碰撞冷却
+    private static final int STATE_STRIDE = 8;
+    // 每个对：两个 AI 修改前的状态，加上修改后的两个位置
+    private static final int LOG_STRIDE = 2 * STATE_STRIDE + 4;
+
+    private final GameLogic logic;
+    private final ContactSchedule schedule;
+    private final PairBuffer window;
+    private final WorkerPool.RangeTask levelTask;
+    private int windowSize;
+    private List<GameObject> solvingAIs;
+    private float solvingPlayerX;
+    private float solvingPlayerY;
+    // 窗口内每个对的日志，以及该对是否真的修改了两个 AI
+    private float[] log;
+    private boolean[] logged;
+    // 重放窗口时每个 AI 的当前位置，按 aiPlayers 下标；stamp 等于 windowStamp 时有效
+    private int windowStamp;
+    private int[] positionStamp;
+    private float[] replayX;
+    private float[] replayY;
+    // 窗口中第一个修改该 AI 的对
+    private int[] changeStamp;
+    private int[] firstChange;
+    private long rollbacks;
+
+    ParallelContactSolver(GameLogic logic) {
+        this.logic = logic;
+        this.schedule = new ContactSchedule();
+        this.window = new PairBuffer();
+        this.levelTask = this::solveRange;
+        this.windowSize = WINDOW;
+        this.log = new float[0];
+        this.logged = new boolean[0];
+        this.positionStamp = new int[0];
+        this.replayX = new float[0];
+        this.replayY = new float[0];
+        this.changeStamp = new int[0];
+        this.firstChange = new int[0];
+    }
+
+    // 因新增的候选对确实接触而回滚部分窗口的累计次数
+    long getRollbackCount() {
+        return rollbacks;
+    }
+
+    // 处理 GameLogic 待处理序列中的全部候选对，调用前序列已按当前宽相准备好
+    void solve(WorkerPool pool, List<GameObject> aiPlayers, float playerX, float playerY) {
+        PairBuffer late = logic.getLateContactPairs();
+        long processed = -1;
+        while (true) {
+            window.clear();
+            long last = processed;
+            long key;
+            while (window.size() < windowSize && (key = logic.nextContactKey(last)) >= 0) {
+                window.add(PairBuffer.firstOf(key), PairBuffer.secondOf(key));
+                last = key;
+            }
+            if (window.size() == 0) return;
+
+            execute(pool, aiPlayers, playerX, playerY);
+            int committed = replay(aiPlayers, processed);
+            processed = window.key(committed - 1);
+            if (committed == window.size()) {
+                windowSize = Math.min(WINDOW, windowSize * 2);
+            } else {
+                rollbacks++;
+                windowSize = Math.max(MIN_WINDOW, windowSize / 2);
+                // 从后往前恢复，每个 AI 最终回到它第一个被回滚的对执行前的状态
+                for (int p = window.size() - 1; p >= committed; p--) {
+                    if (logged[p]) {
+                        restore(aiPlayers, p);
+                    }
+                    late.offer(window.key(p));
+                }
+            }
+        }
+    }
+
+    private void execute(WorkerPool pool, List<GameObject> aiPlayers, float playerX, float playerY) {
+        schedule.build(window, aiPlayers.size());
+        if (logged.length < window.size()) {
+            logged = new boolean[WINDOW];
+            log = new float[WINDOW * LOG_STRIDE];
+        }
+        solvingAIs = aiPlayers;
+        solvingPlayerX = playerX;
+        solvingPlayerY = playerY;
+        for (int level = 0; level < schedule.levelCount(); level++) {
+            pool.parallelFor(schedule.levelStart(level), schedule.levelEnd(level), LEVEL_BATCH, levelTask);
+        }
+        solvingAIs = null;
+    }
+
+    // 同一层内的对不共享 AI，各工作线程只读写自己负责的两个 AI 与对应的日志槽位
+    private void solveRange(int start, int end) {
+        List<GameObject> aiPlayers = solvingAIs;
+        for (int position = start; position < end; position++) {
+            int p = schedule.pairAt(position);
+            GameObject a = aiPlayers.get(window.first(p));
+            GameObject b = aiPlayers.get(window.second(p));
+            int o = p * LOG_STRIDE;
+            save(a, o);
+            save(b, o + STATE_STRIDE);
+            boolean moved = logic.resolveContact(a, b, solvingPlayerX, solvingPlayerY);
+            if (moved) {
+                int after = o + 2 * STATE_STRIDE;
+                TransformComponent ta = a.getComponent(TransformComponent.class);
+                TransformComponent tb = b.getComponent(TransformComponent.class);
+                log[after] = ta.getX();
+                log[after + 1] = ta.getY();
+                log[after + 2] = tb.getX();
+                log[after + 3] = tb.getY();
+            }
+            logged[p] = moved;
+        }
+    }
+
+    // 用每个对执行后的位置依次做串行路径中的 refitAndQueue。串行路径会在新增候选对的键位置处理它：
+    // 那时两个 AI 不接触就没有任何效果，跳过即可；接触则返回该位置之前的对数（至少为 1），之后的对作废
+    private int replay(List<GameObject> aiPlayers, long processed) {
+        int size = window.size();
+        beginReplay(aiPlayers.size());
+        PairBuffer late = logic.getLateContactPairs();
+        long replayed = processed;
+        for (int p = 0; p < size; p++) {
+            long key = window.key(p);
+            while (late.size() > 0 && late.peekMin() < key) {
+                long lateKey = late.pollMin();
+                if (lateKey <= replayed) continue;
+                int a = PairBuffer.firstOf(lateKey);
+                int b = PairBuffer.secondOf(lateKey);
+                if (GameLogic.inContact(replayedX(aiPlayers, a), replayedY(aiPlayers, a),
+                        replayedX(aiPlayers, b), replayedY(aiPlayers, b))) {
+                    late.offer(lateKey);
+                    return p;
+                }
+                replayed = lateKey;
+            }
+            replayed = key;
+            if (!logged[p]) continue;
+            int i = PairBuffer.firstOf(key);
+            int j = PairBuffer.secondOf(key);
+            int o = p * LOG_STRIDE + 2 * STATE_STRIDE;
+            moveReplayed(i, log[o], log[o + 1]);
+            moveReplayed(j, log[o + 2], log[o + 3]);
+            logic.refitAndQueue(i, log[o], log[o + 1], key);
+            logic.refitAndQueue(j, log[o + 2], log[o + 3], key);
+        }
+        return size;
+    }
+
+    // 记下每个 AI 在窗口中第一个修改它的对，用于取得它在窗口开始时的位置
+    private void beginReplay(int bodyCount) {
+        if (positionStamp.length < bodyCount) {
+            int capacity = Math.max(bodyCount, positionStamp.length * 2);
+            positionStamp = Arrays.copyOf(positionStamp, capacity);
+            changeStamp = Arrays.copyOf(changeStamp, capacity);
+            replayX = new float[capacity];
+            replayY = new float[capacity];
+            firstChange = new int[capacity];
+        }
+        windowStamp++;
+        for (int p = window.size() - 1; p >= 0; p--) {
+            if (!logged[p]) continue;
+            firstChange[window.first(p)] = p;
+            firstChange[window.second(p)] = p;
+            changeStamp[window.first(p)] = windowStamp;
+            changeStamp[window.second(p)] = windowStamp;
+        }
+    }
+
+    private void moveReplayed(int id, float x, float y) {
+        positionStamp[id] = windowStamp;
+        replayX[id] = x;
+        replayY[id] = y;
+    }
+
+    private float replayedX(List<GameObject> aiPlayers, int id) {
+        if (positionStamp[id] == windowStamp) return replayX[id];
+        if (changeStamp[id] == windowStamp) return log[stateOffset(firstChange[id], id)];
+        return aiPlayers.get(id).getComponent(TransformComponent.class).getX();
+    }
+
+    private float replayedY(List<GameObject> aiPlayers, int id) {
+        if (positionStamp[id] == windowStamp) return replayY[id];
+        if (changeStamp[id] == windowStamp) return log[stateOffset(firstChange[id], id) + 1];
+        return aiPlayers.get(id).getComponent(TransformComponent.class).getY();
+    }
+
+    // 第 slot 个对执行前 id 的状态在日志中的位置
+    private int stateOffset(int slot, int id) {
+        return slot * LOG_STRIDE + (window.first(slot) == id ? 0 : STATE_STRIDE);
+    }
+
+    private void save(GameObject ai, int offset) {
+        TransformComponent transform = ai.getComponent(TransformComponent.class);
+        PhysicsComponent physics = ai.getComponent(PhysicsComponent.class);
+        log[offset] = transform.getX();
+        log[offset + 1] = transform.getY();
+        log[offset + 2] = physics.getVelocityX();
+        log[offset + 3] = physics.getVelocityY();
+        log[offset + 4] = physics.getLastImpulseX();
+        log[offset + 5] = physics.getLastImpulseY();
+        log[offset + 6] = physics.getImpulseTime();
+        log[offset + 7] = physics.getCollisionCooldown();
+    }
+
+    private void restore(List<GameObject> aiPlayers, int slot) {
+        int o = slot * LOG_STRIDE;
+        restore(aiPlayers.get(window.first(slot)), o);
+        restore(aiPlayers.get(window.second(slot)), o + STATE_STRIDE);
+    }
+
+    private void restore(GameObject ai, int offset) {
+        ai.getComponent(TransformComponent.class).setPosition(log[offset], log[offset + 1]);
+        PhysicsComponent physics = ai.getComponent(PhysicsComponent.class);
+        physics.setVelocity(log[offset + 2], log[offset + 3]);
+        physics.setLastImpulse(log[offset + 4], log[offset + 5], log[offset + 6]);
+        physics.setCollisionCooldown(log[offset + 7]);
+    }
+}
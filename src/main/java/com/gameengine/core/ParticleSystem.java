@@ -15,6 +15,9 @@ public class ParticleSystem {
     private float timeSinceLastSpawn;
     private Vector2 position;
     private boolean active;
+    // 画质缩放：生成率与粒子上限按此系数降低
+    private float spawnScale;
+    private int maxParticles;
     
     private Config config;
     
@@ -91,6 +94,8 @@ public class ParticleSystem {
         public float b = 0.0f;
         public float opacityMultiplier = 1.0f;
         public float minRenderSize = 2.0f;
+        // 单个粒子系统同时存在的粒子上限
+        public int maxParticles = 2000;
         
         public float burstSpeedMin = 80f;
         public float burstSpeedMax = 200f;
@@ -145,14 +150,21 @@ public class ParticleSystem {
     }
     
     public ParticleSystem(IRenderer renderer, Vector2 position, Config config) {
+        this(renderer, position, config, new Random());
+    }
+    
+    // 确定性模式下由调用方传入从种子派生的 Random
+    public ParticleSystem(IRenderer renderer, Vector2 position, Config config, Random random) {
         this.particles = new ArrayList<>();
-        this.random = new Random();
+        this.random = random;
         this.renderer = renderer;
         this.position = new Vector2(position);
         this.config = config;
         this.spawnRate = config.spawnRate;
         this.timeSinceLastSpawn = 0f;
         this.active = true;
+        this.spawnScale = 1.0f;
+        this.maxParticles = config.maxParticles;
         
         for (int i = 0; i < config.initialCount; i++) {
             spawnParticle();
@@ -172,7 +184,7 @@ public class ParticleSystem {
     public void update(float deltaTime) {
         if (active) {
             timeSinceLastSpawn += deltaTime;
-            if (timeSinceLastSpawn >= spawnRate) {
+            if (timeSinceLastSpawn >= spawnRate / spawnScale) {
                 spawnParticle();
                 timeSinceLastSpawn = 0f;
             }
@@ -189,7 +201,7 @@ public class ParticleSystem {
     }
     
     private void spawnParticle() {
-        if (position == null) return;
+        if (position == null || particles.size() >= maxParticles) return;
         
         float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
         float speed = config.speedMin + random.nextFloat() * (config.speedMax - config.speedMin);
@@ -220,6 +232,24 @@ public class ParticleSystem {
         this.spawnRate = rate;
     }
     
+    // scale < 1 时按比例拉长生成间隔，并把粒子上限降到 Config.maxParticles * scale
+    public void setSpawnScale(float scale) {
+        this.spawnScale = Math.max(0.01f, scale);
+        this.maxParticles = Math.max(1, Math.round(config.maxParticles * Math.min(1.0f, this.spawnScale)));
+    }
+    
+    public float getSpawnScale() {
+        return spawnScale;
+    }
+    
+    public void setMaxParticles(int maxParticles) {
+        this.maxParticles = Math.max(0, maxParticles);
+    }
+    
+    public int getMaxParticles() {
+        return maxParticles;
+    }
+    
     public void render() {
         if (renderer == null) return;
         
@@ -249,6 +279,7 @@ public class ParticleSystem {
     }
     
     public void burst(int count) {
+        count = Math.min(count, maxParticles - particles.size());
         for (int i = 0; i < count; i++) {
             float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
             float speed = config.burstSpeedMin + random.nextFloat() * (config.burstSpeedMax - config.burstSpeedMin);
@@ -1,20 +1,15 @@
 package com.gameengine.core;
 
-import com.gameengine.components.TransformComponent;
-import com.gameengine.components.PhysicsComponent;
-import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 
-import java.util.List;
-import java.util.ArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-
 public class PhysicsSystem {
     private Scene scene;
-    private ExecutorService physicsExecutor;
+    private WorkerPool workerPool;
+    // 当前帧的列存储，update 期间供 stepRows 读取（工作线程通过 invoke 的 happens-before 看到）
+    private final WorkerPool.RangeTask stepRows;
+    private TransformStore transforms;
+    private BodyStore bodies;
+    private float stepDeltaTime;
     private int screenWidth;
     private int screenHeight;
     
@@ -23,123 +18,82 @@ public class PhysicsSystem {
     }
     
     public PhysicsSystem(Scene scene, int screenWidth, int screenHeight) {
+        this(scene, screenWidth, screenHeight, null);
+    }
+    
+    // workerPool 由引擎持有并在各系统间共享；为 null 时串行执行
+    public PhysicsSystem(Scene scene, int screenWidth, int screenHeight, WorkerPool workerPool) {
         this.scene = scene;
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.physicsExecutor = Executors.newFixedThreadPool(threadCount);
+        this.workerPool = workerPool;
+        this.stepRows = this::stepRows;
     }
     
+    // 按槽位遍历场景的变换列与物理列，同时带物理与变换组件且启用的行参与积分；每帧不过滤、不分配
     public void update(float deltaTime) {
-        List<PhysicsComponent> physicsComponents = scene.getComponents(PhysicsComponent.class);
-        if (physicsComponents.isEmpty()) return;
-        
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, physicsComponents.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
-        
-        for (int i = 0; i < physicsComponents.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, physicsComponents.size());
-            
-            Future<?> future = physicsExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    PhysicsComponent physics = physicsComponents.get(j);
-                    if (physics.isEnabled()) {
-                        updatePhysics(physics, deltaTime);
-                        handleBoundary(physics);
-                    }
-                }
-            });
-            
-            futures.add(future);
-        }
-        
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
+        stepDeltaTime = deltaTime;
+        transforms = scene.getTransformStore();
+        bodies = scene.getBodyStore();
+        int rows = scene.getSlotCount();
+        if (rows > 0) {
+            if (workerPool != null) {
+                workerPool.parallelFor(0, rows, 256, stepRows);
+            } else {
+                stepRows.run(0, rows);
             }
         }
+        transforms = null;
+        bodies = null;
     }
     
-    private void updatePhysics(PhysicsComponent physics, float deltaTime) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
-        
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
-        if (transform == null) return;
-        
-        Vector2 acceleration = physics.getAcceleration();
-        
-        if (physics.isUseGravity()) {
-            acceleration = acceleration.add(physics.getGravity());
-            physics.setAcceleration(acceleration);
-        }
-        
-        Vector2 velocity = physics.getVelocity();
-        velocity = velocity.add(acceleration.multiply(deltaTime));
-        velocity = velocity.multiply(physics.getFriction());
-        physics.setVelocity(velocity);
-        
-        Vector2 deltaPosition = velocity.multiply(deltaTime);
-        transform.translate(deltaPosition);
-        
-        physics.setAcceleration(new Vector2());
-    }
-    
-    private void handleBoundary(PhysicsComponent physics) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
-        
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
-        if (transform == null) return;
-        
-        Vector2 pos = transform.getPosition();
-        Vector2 velocity = physics.getVelocity();
-        
-        boolean velocityChanged = false;
-        float velX = velocity.x;
-        float velY = velocity.y;
-        float posX = pos.x;
-        float posY = pos.y;
-        
-        if (posX <= 0 || posX >= screenWidth - 15) {
-            velX = -velX;
-            velocityChanged = true;
-        }
-        if (posY <= 0 || posY >= screenHeight - 15) {
-            velY = -velY;
-            velocityChanged = true;
-        }
-        
-        if (posX < 0) posX = 0;
-        if (posY < 0) posY = 0;
-        if (posX > screenWidth - 15) posX = screenWidth - 15;
-        if (posY > screenHeight - 15) posY = screenHeight - 15;
-        
-        transform.setPosition(new Vector2(posX, posY));
-        
-        if (velocityChanged) {
-            physics.setVelocity(new Vector2(velX, velY));
+    // 积分与边界反弹合在一趟循环里；运算顺序与原先按组件逐个处理时一致，结果逐位相同
+    private void stepRows(int start, int end) {
+        float[] x = transforms.x;
+        float[] y = transforms.y;
+        float[] velX = bodies.velX;
+        float[] velY = bodies.velY;
+        float[] accX = bodies.accX;
+        float[] accY = bodies.accY;
+        float[] gravityX = bodies.gravityX;
+        float[] gravityY = bodies.gravityY;
+        float[] friction = bodies.friction;
+        boolean[] useGravity = bodies.useGravity;
+        boolean[] enabled = bodies.enabled;
+        boolean[] present = bodies.present;
+        float deltaTime = stepDeltaTime;
+        float maxX = screenWidth - 15;
+        float maxY = screenHeight - 15;
+        for (int i = start; i < end; i++) {
+            if (!present[i] || !enabled[i]) continue;
+            float ax = accX[i];
+            float ay = accY[i];
+            if (useGravity[i]) {
+                ax = ax + gravityX[i];
+                ay = ay + gravityY[i];
+            }
+            float vx = (velX[i] + ax * deltaTime) * friction[i];
+            float vy = (velY[i] + ay * deltaTime) * friction[i];
+            float px = x[i] + vx * deltaTime;
+            float py = y[i] + vy * deltaTime;
+            accX[i] = 0;
+            accY[i] = 0;
+            
+            if (px <= 0 || px >= maxX) vx = -vx;
+            if (py <= 0 || py >= maxY) vy = -vy;
+            if (px < 0) px = 0;
+            if (py < 0) py = 0;
+            if (px > maxX) px = maxX;
+            if (py > maxY) py = maxY;
+            
+            x[i] = px;
+            y[i] = py;
+            velX[i] = vx;
+            velY[i] = vy;
         }
     }
     
+    // 线程池归引擎所有，这里不再关闭
     public void cleanup() {
-        if (physicsExecutor != null && !physicsExecutor.isShutdown()) {
-            physicsExecutor.shutdown();
-            try {
-                if (!physicsExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    physicsExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                physicsExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
     }
 }
-
@@ -0,0 +1,40 @@
+package com.gameengine.core;
+
+// 预制体：一种实体的模板。create 构建带齐全部组件的新实例，reset 把回收的实例恢复到刚创建时的状态。
+// 配合 newPool 使用时，离开场景的实体回收后原样复用，组件对象也一并复用。
+public abstract class Prefab {
+    public abstract GameObject create();
+
+    // 恢复组件状态；名称、标签和组件组成保持不变
+    protected abstract void reset(GameObject obj);
+
+    public ObjectPool<GameObject> newPool(int maxSize) {
+        // prewarm 直接把新建实例放进池里，因此新建时就标记为已入池，acquire 时清除
+        ObjectPool.Factory<GameObject> factory = () -> {
+            GameObject obj = create();
+            obj.pooled = true;
+            return obj;
+        };
+        return new ObjectPool<GameObject>(factory, this::recycle, maxSize) {
+            @Override
+            public GameObject acquire() {
+                GameObject obj = super.acquire();
+                obj.pooled = false;
+                return obj;
+            }
+        };
+    }
+
+    private void recycle(GameObject obj) {
+        if (obj.getHandle() != EntityTable.NO_HANDLE) {
+            throw new IllegalStateException("对象仍在场景中，不能回收: " + obj.getName());
+        }
+        // 同一实例回收两次会让它在池里出现两份，之后被两个调用方同时复用
+        if (obj.pooled) {
+            throw new IllegalStateException("对象已在对象池中，不能重复回收: " + obj.getName());
+        }
+        reset(obj);
+        obj.setActive(true);
+        obj.pooled = true;
+    }
+}
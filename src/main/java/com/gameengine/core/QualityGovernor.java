@@ -0,0 +1,133 @@
+package com.gameengine.core;
+
+// 画质调节器：用指数滑动平均跟踪每帧工作耗时（不含节流等待），与目标帧时间预算比较，
+// 持续超预算时降一级画质，持续有余量时升一级；升降阈值与持续帧数不同，形成滞回，避免来回抖动。
+//
+// 等级 0 为最高画质，数值越大越省；具体降低哪些开销由场景根据 getQualityScale() 自行决定。
+public class QualityGovernor {
+    // 各等级对应的质量系数（粒子生成率、粒子上限、圆形分段、爆发粒子数等按此缩放）
+    private static final float[] LEVEL_SCALES = {1.0f, 0.7f, 0.45f, 0.25f};
+
+    private long budgetNanos;
+    private boolean enabled;
+    private int level;
+    private double emaNanos;
+    private float smoothing;
+    // 超过 预算 * downgradeRatio 持续 downgradeFrames 帧则降级
+    private float downgradeRatio;
+    private int downgradeFrames;
+    // 低于 预算 * upgradeRatio 持续 upgradeFrames 帧则升级
+    private float upgradeRatio;
+    private int upgradeFrames;
+    private int overBudgetFrames;
+    private int underBudgetFrames;
+    private long levelChanges;
+
+    public QualityGovernor(float targetFPS) {
+        setTargetFPS(targetFPS);
+        this.enabled = true;
+        this.smoothing = 0.1f;
+        this.downgradeRatio = 0.9f;
+        this.downgradeFrames = 30;
+        this.upgradeRatio = 0.6f;
+        this.upgradeFrames = 120;
+        reset();
+    }
+
+    public void setTargetFPS(float fps) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("目标帧率必须大于 0: " + fps);
+        }
+        this.budgetNanos = (long)(1_000_000_000.0 / fps);
+    }
+
+    public void reset() {
+        level = 0;
+        emaNanos = 0.0;
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+    }
+
+    // 每帧结束后调用，传入本帧更新 + 渲染的耗时
+    public void recordFrame(long workNanos) {
+        if (!enabled) return;
+        emaNanos = emaNanos == 0.0 ? workNanos : emaNanos + smoothing * (workNanos - emaNanos);
+
+        if (emaNanos > budgetNanos * downgradeRatio) {
+            overBudgetFrames++;
+            underBudgetFrames = 0;
+        } else if (emaNanos < budgetNanos * upgradeRatio) {
+            underBudgetFrames++;
+            overBudgetFrames = 0;
+        } else {
+            overBudgetFrames = 0;
+            underBudgetFrames = 0;
+        }
+
+        if (overBudgetFrames >= downgradeFrames && level < LEVEL_SCALES.length - 1) {
+            setLevel(level + 1);
+        } else if (underBudgetFrames >= upgradeFrames && level > 0) {
+            setLevel(level - 1);
+        }
+    }
+
+    public void setLevel(int level) {
+        int clamped = Math.max(0, Math.min(LEVEL_SCALES.length - 1, level));
+        if (clamped != this.level) {
+            this.level = clamped;
+            levelChanges++;
+        }
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getMaxLevel() {
+        return LEVEL_SCALES.length - 1;
+    }
+
+    public float getQualityScale() {
+        return LEVEL_SCALES[level];
+    }
+
+    // 按质量系数缩放一个数量，结果不小于 min
+    public int scale(int value, int min) {
+        return Math.max(min, Math.round(value * getQualityScale()));
+    }
+
+    // 关闭后保持当前等级不再变化；需要固定画质时先 setLevel 再关闭
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setHysteresis(float downgradeRatio, int downgradeFrames, float upgradeRatio, int upgradeFrames) {
+        if (upgradeRatio >= downgradeRatio) {
+            throw new IllegalArgumentException("upgradeRatio 必须小于 downgradeRatio");
+        }
+        this.downgradeRatio = downgradeRatio;
+        this.downgradeFrames = Math.max(1, downgradeFrames);
+        this.upgradeRatio = upgradeRatio;
+        this.upgradeFrames = Math.max(1, upgradeFrames);
+    }
+
+    public double getAverageFrameMillis() {
+        return emaNanos / 1_000_000.0;
+    }
+
+    public double getBudgetMillis() {
+        return budgetNanos / 1_000_000.0;
+    }
+
+    public long getLevelChanges() {
+        return levelChanges;
+    }
+}
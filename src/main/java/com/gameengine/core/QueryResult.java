@@ -0,0 +1,54 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 宽相查询结果：追加写入的条目 ID 列表，由调用方持有并复用，预热后不分配对象
+public final class QueryResult {
+    private int[] ids = new int[16];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int index) {
+        return ids[index];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // 按 ID 升序排序；邻域结果通常只有几个到几十个，用插入排序
+    public void sort() {
+        for (int i = 1; i < size; i++) {
+            int id = ids[i];
+            int j = i - 1;
+            while (j >= 0 && ids[j] > id) {
+                ids[j + 1] = ids[j];
+                j--;
+            }
+            ids[j + 1] = id;
+        }
+    }
+
+    // 以下写入方法供 Broadphase 实现填充结果，包外的实现同样可用
+    public void add(int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    public void set(int index, int id) {
+        ids[index] = id;
+    }
+
+    // 保留前 newSize 个条目，用于就地过滤
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize > size) {
+            throw new IndexOutOfBoundsException("newSize " + newSize + " 超出范围 [0, " + size + "]");
+        }
+        size = newSize;
+    }
+}
@@ -0,0 +1,39 @@
+package com.gameengine.core;
+
+import java.util.Random;
+
+// 分层随机数种子：由一个根种子按名字派生出各系统独立的随机流，
+// 某个系统多取或少取随机数不会影响其他系统的序列，便于复现整局游戏。
+public class RandomStreams {
+    private final long seed;
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // 同一根种子 + 同一名字总是得到相同序列的 Random
+    public Random stream(String name) {
+        return new Random(derive(name));
+    }
+
+    // 派生子层级，例如 child("GameScene").stream("particles")
+    public RandomStreams child(String name) {
+        return new RandomStreams(derive(name));
+    }
+
+    private long derive(String name) {
+        // String.hashCode 在各 JVM 上定义一致；再经 SplitMix64 混合，避免相近名字得到相关的种子
+        return mix(seed ^ mix(name.hashCode()));
+    }
+
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
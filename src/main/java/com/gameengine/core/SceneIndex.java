@@ -0,0 +1,164 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 场景的名称与标签索引：对象进入场景时登记，离开场景、失活或改名/改标签时更新，
+// 这样“玩家”“所有活跃 AI”之类的查找不必每帧扫描整个对象列表。
+//
+// 只收录活跃对象。返回的列表是只读的实时视图，随索引变化而变化；
+// 遍历期间让其中的对象失活会修改该列表，此时应立即结束遍历或先复制。
+// 每个对象记录自己在各列表中的下标，删除用 swap-remove，是 O(1) 的，因此列表顺序不稳定。
+public class SceneIndex {
+    private final Map<String, List<GameObject>> byName;
+    private final Map<String, List<GameObject>> byNameViews;
+    private final List<List<GameObject>> byTag;
+    private final List<List<GameObject>> byTagViews;
+
+    public SceneIndex() {
+        this.byName = new HashMap<>();
+        this.byNameViews = new HashMap<>();
+        this.byTag = new ArrayList<>();
+        this.byTagViews = new ArrayList<>();
+    }
+
+    public void add(GameObject obj) {
+        if (obj.index == this) return;
+        if (obj.index != null) {
+            obj.index.remove(obj);
+        }
+        obj.index = this;
+        if (obj.isActive()) {
+            link(obj);
+        }
+    }
+
+    public void remove(GameObject obj) {
+        if (obj.index != this) return;
+        if (obj.isActive()) {
+            unlink(obj, obj.getName(), obj.getTagMask());
+        }
+        obj.index = null;
+    }
+
+    void onActiveChanged(GameObject obj) {
+        if (obj.isActive()) {
+            link(obj);
+        } else {
+            unlink(obj, obj.getName(), obj.getTagMask());
+        }
+    }
+
+    void onNameChanged(GameObject obj, String oldName) {
+        if (!obj.isActive()) return;
+        unlink(obj, oldName, 0L);
+        link(obj, obj.getName(), 0L);
+    }
+
+    void onTagsChanged(GameObject obj, long oldMask) {
+        if (!obj.isActive()) return;
+        long newMask = obj.getTagMask();
+        unlink(obj, null, oldMask & ~newMask);
+        link(obj, null, newMask & ~oldMask);
+    }
+
+    // 名称为 name 的活跃对象（只读实时视图）
+    public List<GameObject> getByName(String name) {
+        List<GameObject> view = byNameViews.get(name);
+        if (view == null) {
+            view = Collections.unmodifiableList(nameList(name));
+            byNameViews.put(name, view);
+        }
+        return view;
+    }
+
+    // 带有标签 tag 的活跃对象（只读实时视图）
+    public List<GameObject> getByTag(String tag) {
+        int id = TagRegistry.idOf(tag);
+        tagList(id);
+        return byTagViews.get(id);
+    }
+
+    public GameObject getFirstByName(String name) {
+        List<GameObject> list = byName.get(name);
+        return list != null && !list.isEmpty() ? list.get(0) : null;
+    }
+
+    public GameObject getFirstByTag(String tag) {
+        int id = TagRegistry.idOf(tag);
+        List<GameObject> list = id < byTag.size() ? byTag.get(id) : null;
+        return list != null && !list.isEmpty() ? list.get(0) : null;
+    }
+
+    private void link(GameObject obj) {
+        link(obj, obj.getName(), obj.getTagMask());
+    }
+
+    private void link(GameObject obj, String name, long mask) {
+        if (name != null) {
+            List<GameObject> list = nameList(name);
+            obj.namePosition = list.size();
+            list.add(obj);
+        }
+        if (mask != 0 && obj.tagPositions == null) {
+            obj.tagPositions = new int[TagRegistry.MAX_TAGS];
+        }
+        for (long m = mask; m != 0; m &= m - 1) {
+            int id = Long.numberOfTrailingZeros(m);
+            List<GameObject> list = tagList(id);
+            obj.tagPositions[id] = list.size();
+            list.add(obj);
+        }
+    }
+
+    private void unlink(GameObject obj, String name, long mask) {
+        if (name != null) {
+            List<GameObject> list = byName.get(name);
+            if (list != null) {
+                GameObject moved = swapRemove(list, obj.namePosition);
+                if (moved != null) {
+                    moved.namePosition = obj.namePosition;
+                }
+                obj.namePosition = -1;
+            }
+        }
+        for (long m = mask; m != 0; m &= m - 1) {
+            int id = Long.numberOfTrailingZeros(m);
+            GameObject moved = swapRemove(byTag.get(id), obj.tagPositions[id]);
+            if (moved != null) {
+                moved.tagPositions[id] = obj.tagPositions[id];
+            }
+        }
+    }
+
+    // 用最后一个元素填补 position，返回被移动的对象（删除的就是最后一个时返回 null）
+    private static GameObject swapRemove(List<GameObject> list, int position) {
+        GameObject last = list.remove(list.size() - 1);
+        if (position == list.size()) {
+            return null;
+        }
+        list.set(position, last);
+        return last;
+    }
+
+    private List<GameObject> nameList(String name) {
+        List<GameObject> list = byName.get(name);
+        if (list == null) {
+            list = new ArrayList<>();
+            byName.put(name, list);
+        }
+        return list;
+    }
+
+    private List<GameObject> tagList(int id) {
+        while (byTag.size() <= id) {
+            List<GameObject> list = new ArrayList<>();
+            byTag.add(list);
+            byTagViews.add(Collections.unmodifiableList(list));
+        }
+        return byTag.get(id);
+    }
+}
@@ -0,0 +1,82 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 缓存的场景查询：“同时带有某几种组件的实体”。由 ArchetypeStorage 创建并增量维护——
+// 新原型出现时若满足条件就加入匹配列表，实体增删只改变原型内的行，不需要重新过滤。
+//
+// 遍历不分配对象：按原型取列数组逐行访问，或用 size()/collect* 写入调用方复用的列表。
+public class SceneQuery {
+    private final Class<?>[] required;
+    private final List<Archetype> matching;
+
+    SceneQuery(Class<?>[] required) {
+        this.required = required.clone();
+        this.matching = new ArrayList<>();
+    }
+
+    boolean matches(Archetype archetype) {
+        for (Class<?> type : required) {
+            if (!archetype.has(type)) return false;
+        }
+        return true;
+    }
+
+    void addArchetype(Archetype archetype) {
+        matching.add(archetype);
+    }
+
+    void clearArchetypes() {
+        matching.clear();
+    }
+
+    public int getArchetypeCount() {
+        return matching.size();
+    }
+
+    // 第 index 个匹配的原型，可能为空原型
+    public Archetype getArchetype(int index) {
+        return matching.get(index);
+    }
+
+    // 当前匹配的实体总数
+    public int size() {
+        int total = 0;
+        for (int i = 0; i < matching.size(); i++) {
+            total += matching.get(i).size();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // 把匹配实体追加到 out（按原型分组，顺序与场景对象列表不同）
+    public void collectEntities(List<GameObject> out) {
+        for (int i = 0; i < matching.size(); i++) {
+            Archetype archetype = matching.get(i);
+            for (int row = 0; row < archetype.size(); row++) {
+                out.add(archetype.getEntity(row));
+            }
+        }
+    }
+
+    // 把匹配实体上 type 类型的组件追加到 out
+    @SuppressWarnings("unchecked")
+    public <T extends Component<T>> void collectComponents(Class<T> type, List<T> out) {
+        for (int i = 0; i < matching.size(); i++) {
+            Archetype archetype = matching.get(i);
+            Component<?>[] column = archetype.column(type);
+            if (column == null) continue;
+            for (int row = 0; row < archetype.size(); row++) {
+                out.add((T) column[row]);
+            }
+        }
+    }
+
+    public Class<?>[] getRequiredTypes() {
+        return required.clone();
+    }
+}
@@ -0,0 +1,386 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 均匀空间哈希网格：把平面划成边长为 cellSize 的方格，条目按包围盒登记到它覆盖的每个格子，
+// 邻域查询只访问查询范围覆盖的格子。适合尺寸相近、分布均匀的物体；格子大小应与查询半径相当。
+//
+// 存储全部是 int/float 数组：格子表是开放寻址哈希，每个格子挂一条节点链表。
+// 预热后更新与查询都不分配对象，可以每 tick 整体刷新，也可以只更新移动过的条目。
+//
+// 跨多个格子的条目只在“查询范围与条目范围重叠部分的左上角格子”里报告一次，查询不需要去重标记，
+// 因此多个线程可以同时查询（查询期间不能修改网格）。
+public class SpatialHashGrid implements Broadphase {
+    private static final int NONE = -1;
+
+    private final float cellSize;
+    private final float inverseCellSize;
+    private final float margin;
+
+    // 条目：按 ID 存包围盒与覆盖的格子范围
+    private boolean[] present;
+    private float[] minX;
+    private float[] minY;
+    private float[] maxX;
+    private float[] maxY;
+    private int[] cellMinX;
+    private int[] cellMinY;
+    private int[] cellMaxX;
+    private int[] cellMaxY;
+    private int size;
+
+    // 格子表：键是打包的格子坐标，值是该格子节点链表的表头；cellUsed 为 false 的槽位为空
+    private long[] cellKeys;
+    private int[] cellHeads;
+    private boolean[] cellUsed;
+    private int cellCount;
+
+    // 节点：一个条目在一个格子里的登记；空闲节点通过 nodeNext 串成空闲链
+    private int[] nodeEntry;
+    private int[] nodeNext;
+    private int nodeCount;
+    private int freeNode;
+
+    public SpatialHashGrid(float cellSize) {
+        this(cellSize, 0f);
+    }
+
+    // margin 为存储包围盒每边的扩张量，物体在余量内移动时 update 不需要改动格子
+    public SpatialHashGrid(float cellSize, float margin) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("cellSize 必须大于 0");
+        }
+        if (!(margin >= 0)) {
+            throw new IllegalArgumentException("margin 不能为负数");
+        }
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0f / cellSize;
+        this.margin = margin;
+        allocateEntries(64);
+        allocateCells(64);
+        this.nodeEntry = new int[64];
+        this.nodeNext = new int[64];
+        this.freeNode = NONE;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return id >= 0 && id < present.length && present[id];
+    }
+
+    // 移除全部条目，保留已分配的数组
+    @Override
+    public void clear() {
+        if (size == 0 && cellCount == 0) return;
+        Arrays.fill(present, false);
+        Arrays.fill(cellUsed, false);
+        size = 0;
+        cellCount = 0;
+        nodeCount = 0;
+        freeNode = NONE;
+    }
+
+    @Override
+    public boolean update(int id, float minX, float minY, float maxX, float maxY) {
+        if (id < 0) {
+            throw new IllegalArgumentException("条目 ID 不能为负数: " + id);
+        }
+        if (contains(id)
+                && this.minX[id] <= minX && this.minY[id] <= minY
+                && this.maxX[id] >= maxX && this.maxY[id] >= maxY) {
+            return false;
+        }
+        minX -= margin;
+        minY -= margin;
+        maxX += margin;
+        maxY += margin;
+        if (!contains(id)) {
+            ensureEntryCapacity(id + 1);
+            present[id] = true;
+            size++;
+            setBounds(id, minX, minY, maxX, maxY);
+            link(id);
+            return true;
+        }
+        // 覆盖的格子不变时只改边界，不动链表
+        if (cellOf(minX) == cellMinX[id] && cellOf(minY) == cellMinY[id]
+                && cellOf(maxX) == cellMaxX[id] && cellOf(maxY) == cellMaxY[id]) {
+            this.minX[id] = minX;
+            this.minY[id] = minY;
+            this.maxX[id] = maxX;
+            this.maxY[id] = maxY;
+            return true;
+        }
+        unlink(id);
+        setBounds(id, minX, minY, maxX, maxY);
+        link(id);
+        return true;
+    }
+
+    @Override
+    public void remove(int id) {
+        if (!contains(id)) return;
+        unlink(id);
+        present[id] = false;
+        size--;
+    }
+
+    @Override
+    public float getMinX(int id) {
+        return minX[id];
+    }
+
+    @Override
+    public float getMinY(int id) {
+        return minY[id];
+    }
+
+    @Override
+    public float getMaxX(int id) {
+        return maxX[id];
+    }
+
+    @Override
+    public float getMaxY(int id) {
+        return maxY[id];
+    }
+
+    @Override
+    public void queryAABB(float minX, float minY, float maxX, float maxY, QueryResult out) {
+        query(minX, minY, maxX, maxY, minX, minY, 0f, out, false);
+    }
+
+    @Override
+    public void queryRadius(float x, float y, float radius, QueryResult out) {
+        query(x - radius, y - radius, x + radius, y + radius, x, y, radius * radius, out, true);
+    }
+
+    @Override
+    public void collectPairs(PairBuffer out) {
+        for (int slot = 0; slot < cellKeys.length; slot++) {
+            if (!cellUsed[slot]) continue;
+            int gx = (int) (cellKeys[slot] >> 32);
+            int gy = (int) cellKeys[slot];
+            for (int nodeA = cellHeads[slot]; nodeA != NONE; nodeA = nodeNext[nodeA]) {
+                int a = nodeEntry[nodeA];
+                for (int nodeB = nodeNext[nodeA]; nodeB != NONE; nodeB = nodeNext[nodeB]) {
+                    int b = nodeEntry[nodeB];
+                    // 两个条目共享多个格子时只在共享区域的第一个格子里报告
+                    if (gx != Math.max(cellMinX[a], cellMinX[b]) || gy != Math.max(cellMinY[a], cellMinY[b])) continue;
+                    if (overlapsEntry(b, minX[a], minY[a], maxX[a], maxY[a])) {
+                        out.add(a, b);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void collectPairsWith(int id, PairBuffer out) {
+        if (!contains(id)) return;
+        for (int gy = cellMinY[id]; gy <= cellMaxY[id]; gy++) {
+            for (int gx = cellMinX[id]; gx <= cellMaxX[id]; gx++) {
+                int slot = findCell(gx, gy);
+                if (slot < 0) continue;
+                for (int node = cellHeads[slot]; node != NONE; node = nodeNext[node]) {
+                    int other = nodeEntry[node];
+                    if (other == id) continue;
+                    if (gx != Math.max(cellMinX[id], cellMinX[other]) || gy != Math.max(cellMinY[id], cellMinY[other])) continue;
+                    if (overlapsEntry(other, minX[id], minY[id], maxX[id], maxY[id])) {
+                        out.add(id, other);
+                    }
+                }
+            }
+        }
+    }
+
+    private void query(float qMinX, float qMinY, float qMaxX, float qMaxY,
+                       float cx, float cy, float radiusSquared, QueryResult out, boolean circle) {
+        if (size == 0) return;
+        int fromX = cellOf(qMinX);
+        int fromY = cellOf(qMinY);
+        int toX = cellOf(qMaxX);
+        int toY = cellOf(qMaxY);
+        for (int gy = fromY; gy <= toY; gy++) {
+            for (int gx = fromX; gx <= toX; gx++) {
+                int slot = findCell(gx, gy);
+                if (slot < 0) continue;
+                for (int node = cellHeads[slot]; node != NONE; node = nodeNext[node]) {
+                    int id = nodeEntry[node];
+                    // 跨格条目只在重叠区域的第一个格子里报告
+                    if (gx != Math.max(fromX, cellMinX[id]) || gy != Math.max(fromY, cellMinY[id])) continue;
+                    if (!overlapsEntry(id, qMinX, qMinY, qMaxX, qMaxY)) continue;
+                    if (circle) {
+                        float dx = Math.max(Math.max(minX[id] - cx, 0f), cx - maxX[id]);
+                        float dy = Math.max(Math.max(minY[id] - cy, 0f), cy - maxY[id]);
+                        if (dx * dx + dy * dy > radiusSquared) continue;
+                    }
+                    out.add(id);
+                }
+            }
+        }
+    }
+
+    private boolean overlapsEntry(int id, float qMinX, float qMinY, float qMaxX, float qMaxY) {
+        return maxX[id] >= qMinX && minX[id] <= qMaxX && maxY[id] >= qMinY && minY[id] <= qMaxY;
+    }
+
+    private int cellOf(float v) {
+        return (int) Math.floor(v * inverseCellSize);
+    }
+
+    private void setBounds(int id, float minX, float minY, float maxX, float maxY) {
+        this.minX[id] = minX;
+        this.minY[id] = minY;
+        this.maxX[id] = maxX;
+        this.maxY[id] = maxY;
+        cellMinX[id] = cellOf(minX);
+        cellMinY[id] = cellOf(minY);
+        cellMaxX[id] = cellOf(maxX);
+        cellMaxY[id] = cellOf(maxY);
+    }
+
+    private void link(int id) {
+        for (int gy = cellMinY[id]; gy <= cellMaxY[id]; gy++) {
+            for (int gx = cellMinX[id]; gx <= cellMaxX[id]; gx++) {
+                int slot = findOrCreateCell(gx, gy);
+                int node = allocateNode();
+                nodeEntry[node] = id;
+                nodeNext[node] = cellHeads[slot];
+                cellHeads[slot] = node;
+            }
+        }
+    }
+
+    private void unlink(int id) {
+        for (int gy = cellMinY[id]; gy <= cellMaxY[id]; gy++) {
+            for (int gx = cellMinX[id]; gx <= cellMaxX[id]; gx++) {
+                int slot = findCell(gx, gy);
+                if (slot < 0) continue;
+                int prev = NONE;
+                for (int node = cellHeads[slot]; node != NONE; node = nodeNext[node]) {
+                    if (nodeEntry[node] == id) {
+                        if (prev == NONE) {
+                            cellHeads[slot] = nodeNext[node];
+                        } else {
+                            nodeNext[prev] = nodeNext[node];
+                        }
+                        nodeNext[node] = freeNode;
+                        freeNode = node;
+                        break;
+                    }
+                    prev = node;
+                }
+            }
+        }
+    }
+
+    private int allocateNode() {
+        if (freeNode != NONE) {
+            int node = freeNode;
+            freeNode = nodeNext[node];
+            return node;
+        }
+        if (nodeCount == nodeEntry.length) {
+            nodeEntry = Arrays.copyOf(nodeEntry, nodeCount * 2);
+            nodeNext = Arrays.copyOf(nodeNext, nodeCount * 2);
+        }
+        return nodeCount++;
+    }
+
+    private static long keyOf(int gx, int gy) {
+        return ((long) gx << 32) | (gy & 0xFFFFFFFFL);
+    }
+
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (cellKeys.length - 1);
+    }
+
+    private int findCell(int gx, int gy) {
+        long key = keyOf(gx, gy);
+        int mask = cellKeys.length - 1;
+        for (int slot = slotOf(key); cellUsed[slot]; slot = (slot + 1) & mask) {
+            if (cellKeys[slot] == key) return slot;
+        }
+        return -1;
+    }
+
+    // 空格子的槽位保留到下一次 clear()，链表为空即可
+    private int findOrCreateCell(int gx, int gy) {
+        if ((cellCount + 1) * 2 > cellKeys.length) {
+            rehash(cellKeys.length * 2);
+        }
+        long key = keyOf(gx, gy);
+        int mask = cellKeys.length - 1;
+        int slot = slotOf(key);
+        while (cellUsed[slot]) {
+            if (cellKeys[slot] == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        cellUsed[slot] = true;
+        cellKeys[slot] = key;
+        cellHeads[slot] = NONE;
+        cellCount++;
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = cellKeys;
+        int[] oldHeads = cellHeads;
+        boolean[] oldUsed = cellUsed;
+        allocateCells(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (!oldUsed[i]) continue;
+            int slot = slotOf(oldKeys[i]);
+            while (cellUsed[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            cellUsed[slot] = true;
+            cellKeys[slot] = oldKeys[i];
+            cellHeads[slot] = oldHeads[i];
+        }
+    }
+
+    private void allocateCells(int capacity) {
+        cellKeys = new long[capacity];
+        cellHeads = new int[capacity];
+        cellUsed = new boolean[capacity];
+    }
+
+    private void allocateEntries(int capacity) {
+        present = new boolean[capacity];
+        minX = new float[capacity];
+        minY = new float[capacity];
+        maxX = new float[capacity];
+        maxY = new float[capacity];
+        cellMinX = new int[capacity];
+        cellMinY = new int[capacity];
+        cellMaxX = new int[capacity];
+        cellMaxY = new int[capacity];
+    }
+
+    private void ensureEntryCapacity(int required) {
+        if (required <= present.length) return;
+        int capacity = Math.max(required, present.length * 2);
+        present = Arrays.copyOf(present, capacity);
+        minX = Arrays.copyOf(minX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+        cellMinX = Arrays.copyOf(cellMinX, capacity);
+        cellMinY = Arrays.copyOf(cellMinY, capacity);
+        cellMaxX = Arrays.copyOf(cellMaxX, capacity);
+        cellMaxY = Arrays.copyOf(cellMaxY, capacity);
+    }
+}
@@ -0,0 +1,256 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 排序扫描（sweep and prune）宽相：条目按包围盒 minX 排成一列，扫描时只比较 x 区间重叠的相邻条目，
+// 再用 y 区间过滤，输出候选对交给窄相判定。
+//
+// 顺序跨帧保留。update 移动条目时就地做一步插入排序，把它向左或向右挪到正确位置；
+// 物体每帧只移动一点，顺序几乎不变，整帧更新接近 O(n)。累计移动次数见 getSwapCount()，
+// 用于观察时间相关性是否被破坏。条目用非负整数 ID 标识，数组按需增长，预热后不分配对象。
+// 适合大量缓慢移动、尺寸相近的物体；大量物体挤在同一 x 区间时退化。
+public class SweepAndPrune implements Broadphase {
+    private final float margin;
+    private boolean[] present;
+    // 条目在 order 中的下标，-1 表示不在其中；移除的条目留在 order 里，下一次 collectPairs 时压缩掉
+    private int[] rank;
+    private float[] minX;
+    private float[] minY;
+    private float[] maxX;
+    private float[] maxY;
+    private int size;
+
+    // 按 minX 升序的条目 ID
+    private int[] order;
+    private int orderSize;
+    // order 中条目的最大宽度上界，单个条目查询时用它确定扫描起点
+    private float maxWidth;
+    private long swapCount;
+
+    public SweepAndPrune() {
+        this(0f);
+    }
+
+    // margin 为存储包围盒每边的扩张量，物体在余量内移动时 update 不需要改动排序
+    public SweepAndPrune(float margin) {
+        if (!(margin >= 0)) {
+            throw new IllegalArgumentException("margin 不能为负数");
+        }
+        this.margin = margin;
+        allocate(64);
+        this.order = new int[64];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return id >= 0 && id < present.length && present[id];
+    }
+
+    // 存储的包围盒需要移动时，把条目挪到排序中的正确位置
+    @Override
+    public boolean update(int id, float minX, float minY, float maxX, float maxY) {
+        if (id < 0) {
+            throw new IllegalArgumentException("条目 ID 不能为负数: " + id);
+        }
+        if (contains(id)
+                && this.minX[id] <= minX && this.minY[id] <= minY
+                && this.maxX[id] >= maxX && this.maxY[id] >= maxY) {
+            return false;
+        }
+        minX -= margin;
+        minY -= margin;
+        maxX += margin;
+        maxY += margin;
+        ensureCapacity(id + 1);
+        if (!present[id]) {
+            present[id] = true;
+            size++;
+        }
+        this.minX[id] = minX;
+        this.minY[id] = minY;
+        this.maxX[id] = maxX;
+        this.maxY[id] = maxY;
+        maxWidth = Math.max(maxWidth, maxX - minX);
+        if (rank[id] < 0) {
+            if (orderSize == order.length) {
+                order = Arrays.copyOf(order, orderSize * 2);
+            }
+            order[orderSize] = id;
+            rank[id] = orderSize++;
+        }
+        relocate(id);
+        return true;
+    }
+
+    @Override
+    public void remove(int id) {
+        if (!contains(id)) return;
+        present[id] = false;
+        size--;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(present, false);
+        Arrays.fill(rank, -1);
+        size = 0;
+        orderSize = 0;
+        maxWidth = 0;
+    }
+
+    @Override
+    public float getMinX(int id) {
+        return minX[id];
+    }
+
+    @Override
+    public float getMinY(int id) {
+        return minY[id];
+    }
+
+    @Override
+    public float getMaxX(int id) {
+        return maxX[id];
+    }
+
+    @Override
+    public float getMaxY(int id) {
+        return maxY[id];
+    }
+
+    // 二分找到扫描起点，向右扫到 minX 超出查询范围为止；只读，可以并发查询
+    @Override
+    public void queryAABB(float qMinX, float qMinY, float qMaxX, float qMaxY, QueryResult out) {
+        for (int k = lowerBound(qMinX - maxWidth); k < orderSize; k++) {
+            int id = order[k];
+            if (minX[id] > qMaxX) break;
+            if (present[id] && maxX[id] >= qMinX && minY[id] <= qMaxY && maxY[id] >= qMinY) {
+                out.add(id);
+            }
+        }
+    }
+
+    // 扫描全部条目，把包围盒相交（含边界相接）的条目对追加到 out，顺序不定
+    @Override
+    public void collectPairs(PairBuffer out) {
+        compact();
+        for (int i = 0; i < orderSize; i++) {
+            int a = order[i];
+            float aMaxX = maxX[a];
+            float aMinY = minY[a];
+            float aMaxY = maxY[a];
+            for (int k = i + 1; k < orderSize; k++) {
+                int b = order[k];
+                if (minX[b] > aMaxX) break;
+                if (minY[b] <= aMaxY && maxY[b] >= aMinY) {
+                    out.add(a, b);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void collectPairsWith(int id, PairBuffer out) {
+        if (!contains(id)) return;
+        float aMinX = minX[id];
+        float aMaxX = maxX[id];
+        float aMinY = minY[id];
+        float aMaxY = maxY[id];
+        for (int k = lowerBound(aMinX - maxWidth); k < orderSize; k++) {
+            int b = order[k];
+            if (minX[b] > aMaxX) break;
+            if (b == id || !present[b]) continue;
+            if (maxX[b] >= aMinX && minY[b] <= aMaxY && maxY[b] >= aMinY) {
+                out.add(id, b);
+            }
+        }
+    }
+
+    // 累计的插入排序移动次数
+    public long getSwapCount() {
+        return swapCount;
+    }
+
+    // 插入排序的一步：把 id 向左或向右移到 minX 有序的位置
+    private void relocate(int id) {
+        float key = minX[id];
+        int pos = rank[id];
+        while (pos > 0 && minX[order[pos - 1]] > key) {
+            int moved = order[pos - 1];
+            order[pos] = moved;
+            rank[moved] = pos;
+            pos--;
+            swapCount++;
+        }
+        while (pos + 1 < orderSize && minX[order[pos + 1]] < key) {
+            int moved = order[pos + 1];
+            order[pos] = moved;
+            rank[moved] = pos;
+            pos++;
+            swapCount++;
+        }
+        order[pos] = id;
+        rank[id] = pos;
+    }
+
+    // 第一个 minX >= value 的位置
+    private int lowerBound(float value) {
+        int lo = 0;
+        int hi = orderSize;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (minX[order[mid]] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // 去掉已移除的条目并重新计算最大宽度，顺序保持不变
+    private void compact() {
+        int live = 0;
+        float width = 0;
+        for (int i = 0; i < orderSize; i++) {
+            int id = order[i];
+            if (present[id]) {
+                order[live] = id;
+                rank[id] = live++;
+                width = Math.max(width, maxX[id] - minX[id]);
+            } else {
+                rank[id] = -1;
+            }
+        }
+        orderSize = live;
+        maxWidth = width;
+    }
+
+    private void allocate(int capacity) {
+        present = new boolean[capacity];
+        rank = new int[capacity];
+        Arrays.fill(rank, -1);
+        minX = new float[capacity];
+        minY = new float[capacity];
+        maxX = new float[capacity];
+        maxY = new float[capacity];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= present.length) return;
+        int oldCapacity = present.length;
+        int capacity = Math.max(required, oldCapacity * 2);
+        present = Arrays.copyOf(present, capacity);
+        rank = Arrays.copyOf(rank, capacity);
+        Arrays.fill(rank, oldCapacity, capacity, -1);
+        minX = Arrays.copyOf(minX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+    }
+}
@@ -0,0 +1,216 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+
+// 声明式系统调度器：每个系统声明读写的组件/资源类型，调度器据此构建依赖图，
+// 把互不冲突的系统分到同一阶段，在引擎的 WorkerPool 上并行执行；阶段之间严格按注册顺序串行。
+//
+// 冲突规则：A 写的类型被 B 读或写，或 B 写的类型被 A 读，则注册较晚者依赖较早者。
+public class SystemScheduler {
+    public interface SystemTask {
+        void update(float deltaTime);
+    }
+
+    public static class SystemDescriptor {
+        private final SystemScheduler owner;
+        private final String name;
+        private final SystemTask task;
+        private final Set<Class<?>> reads;
+        private final Set<Class<?>> writes;
+        private boolean enabled;
+        private volatile long lastNanos;
+        private long totalNanos;
+        private long runs;
+
+        private SystemDescriptor(SystemScheduler owner, String name, SystemTask task) {
+            this.owner = owner;
+            this.name = name;
+            this.task = task;
+            this.reads = new HashSet<>();
+            this.writes = new HashSet<>();
+            this.enabled = true;
+        }
+
+        public SystemDescriptor reads(Class<?>... types) {
+            Collections.addAll(reads, types);
+            owner.graphDirty = true;
+            return this;
+        }
+
+        public SystemDescriptor writes(Class<?>... types) {
+            Collections.addAll(writes, types);
+            owner.graphDirty = true;
+            return this;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getLastNanos() {
+            return lastNanos;
+        }
+
+        public double getAverageMillis() {
+            return runs == 0 ? 0.0 : totalNanos / (double) runs / 1_000_000.0;
+        }
+
+        private boolean conflictsWith(SystemDescriptor other) {
+            return intersects(writes, other.reads) || intersects(writes, other.writes) || intersects(reads, other.writes);
+        }
+
+        private static boolean intersects(Set<Class<?>> a, Set<Class<?>> b) {
+            for (Class<?> type : a) {
+                if (b.contains(type)) return true;
+            }
+            return false;
+        }
+
+        private void run(float deltaTime) {
+            long start = System.nanoTime();
+            task.update(deltaTime);
+            long elapsed = System.nanoTime() - start;
+            lastNanos = elapsed;
+            totalNanos += elapsed;
+            runs++;
+        }
+    }
+
+    private final WorkerPool pool;
+    private final List<SystemDescriptor> systems;
+    private final List<List<SystemDescriptor>> stages;
+    private boolean graphDirty;
+
+    public SystemScheduler(WorkerPool pool) {
+        this.pool = pool;
+        this.systems = new ArrayList<>();
+        this.stages = new ArrayList<>();
+        this.graphDirty = true;
+    }
+
+    public SystemDescriptor addSystem(String name, SystemTask task) {
+        SystemDescriptor descriptor = new SystemDescriptor(this, name, task);
+        systems.add(descriptor);
+        graphDirty = true;
+        return descriptor;
+    }
+
+    public void update(float deltaTime) {
+        if (graphDirty) {
+            buildStages();
+        }
+        for (List<SystemDescriptor> stage : stages) {
+            runStage(stage, deltaTime);
+        }
+    }
+
+    // 每个系统所在阶段 = 与其冲突的更早系统的最大阶段 + 1
+    private void buildStages() {
+        stages.clear();
+        int[] level = new int[systems.size()];
+        for (int i = 0; i < systems.size(); i++) {
+            int lv = 0;
+            for (int j = 0; j < i; j++) {
+                if (systems.get(j).conflictsWith(systems.get(i))) {
+                    lv = Math.max(lv, level[j] + 1);
+                }
+            }
+            level[i] = lv;
+            while (stages.size() <= lv) {
+                stages.add(new ArrayList<>());
+            }
+            stages.get(lv).add(systems.get(i));
+        }
+        graphDirty = false;
+    }
+
+    private void runStage(List<SystemDescriptor> stage, float deltaTime) {
+        int enabledCount = 0;
+        for (SystemDescriptor system : stage) {
+            if (system.enabled) enabledCount++;
+        }
+        if (enabledCount == 0) return;
+        if (enabledCount == 1 || pool == null) {
+            for (SystemDescriptor system : stage) {
+                if (system.enabled) system.run(deltaTime);
+            }
+            return;
+        }
+        pool.invoke(new StageAction(stage, deltaTime));
+    }
+
+    private static class StageAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<SystemDescriptor> stage;
+        private final float deltaTime;
+
+        StageAction(List<SystemDescriptor> stage, float deltaTime) {
+            this.stage = stage;
+            this.deltaTime = deltaTime;
+        }
+
+        @Override
+        protected void compute() {
+            List<RecursiveAction> tasks = new ArrayList<>(stage.size());
+            for (SystemDescriptor system : stage) {
+                if (!system.enabled) continue;
+                tasks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        system.run(deltaTime);
+                    }
+                });
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    public int getStageCount() {
+        if (graphDirty) {
+            buildStages();
+        }
+        return stages.size();
+    }
+
+    public List<SystemDescriptor> getSystems() {
+        return Collections.unmodifiableList(systems);
+    }
+
+    // 各系统最近一次执行耗时（纳秒），按注册顺序
+    public Map<String, Long> getLastTimings() {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        for (SystemDescriptor system : systems) {
+            timings.put(system.name, system.lastNanos);
+        }
+        return timings;
+    }
+
+    public String getTimingsSummary() {
+        StringBuilder sb = new StringBuilder();
+        if (graphDirty) {
+            buildStages();
+        }
+        for (int i = 0; i < stages.size(); i++) {
+            for (SystemDescriptor system : stages.get(i)) {
+                sb.append(String.format("  stage %d  %-20s avg %.3f ms%n", i, system.name, system.getAverageMillis()));
+            }
+        }
+        return sb.toString();
+    }
+}
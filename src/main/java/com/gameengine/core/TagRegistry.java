@@ -0,0 +1,38 @@
+package com.gameengine.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 标签注册表：把标签名映射到 0..63 的位，GameObject 用一个 long 位掩码记录自身的标签，
+// 场景按位维护标签索引。ID 在进程内稳定，不跨进程持久化。
+public final class TagRegistry {
+    public static final int MAX_TAGS = 64;
+
+    private static final Map<String, Integer> IDS = new HashMap<>();
+
+    private TagRegistry() {
+    }
+
+    public static synchronized int idOf(String tag) {
+        if (tag == null) {
+            throw new IllegalArgumentException("标签不能为空");
+        }
+        Integer id = IDS.get(tag);
+        if (id == null) {
+            if (IDS.size() >= MAX_TAGS) {
+                throw new IllegalStateException("标签数量超过上限 " + MAX_TAGS + ": " + tag);
+            }
+            id = IDS.size();
+            IDS.put(tag, id);
+        }
+        return id;
+    }
+
+    public static long maskOf(String tag) {
+        return 1L << idOf(tag);
+    }
+
+    public static synchronized int size() {
+        return IDS.size();
+    }
+}
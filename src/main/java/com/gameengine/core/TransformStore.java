@@ -0,0 +1,70 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 变换数据的列式存储：每个实体占一行，位置、缩放、旋转以及插值用的上一 tick 位置和渲染位置
+// 各是一列 float 数组。场景的实体表按槽位号分配行，TransformComponent 只是指向某一行的视图；
+// 不在场景中的组件把数据放在自己的字段里。
+//
+// 列数组在扩容时会被替换，不要跨帧缓存数组引用。
+public class TransformStore {
+    public float[] x;
+    public float[] y;
+    public float[] scaleX;
+    public float[] scaleY;
+    public float[] rotation;
+    public float[] prevX;
+    public float[] prevY;
+    public float[] renderX;
+    public float[] renderY;
+
+    public TransformStore(int capacity) {
+        int cap = Math.max(1, capacity);
+        this.x = new float[cap];
+        this.y = new float[cap];
+        this.scaleX = new float[cap];
+        this.scaleY = new float[cap];
+        this.rotation = new float[cap];
+        this.prevX = new float[cap];
+        this.prevY = new float[cap];
+        this.renderX = new float[cap];
+        this.renderY = new float[cap];
+    }
+
+    public int getCapacity() {
+        return x.length;
+    }
+
+    public void ensureCapacity(int rows) {
+        if (rows <= x.length) return;
+        int cap = Math.max(rows, x.length * 2);
+        x = Arrays.copyOf(x, cap);
+        y = Arrays.copyOf(y, cap);
+        scaleX = Arrays.copyOf(scaleX, cap);
+        scaleY = Arrays.copyOf(scaleY, cap);
+        rotation = Arrays.copyOf(rotation, cap);
+        prevX = Arrays.copyOf(prevX, cap);
+        prevY = Arrays.copyOf(prevY, cap);
+        renderX = Arrays.copyOf(renderX, cap);
+        renderY = Arrays.copyOf(renderY, cap);
+    }
+
+    // 前 rows 行：记录当前位置作为上一 tick 位置
+    public void storePrevious(int rows) {
+        System.arraycopy(x, 0, prevX, 0, rows);
+        System.arraycopy(y, 0, prevY, 0, rows);
+    }
+
+    // 前 rows 行：在上一 tick 与当前位置之间插值出渲染位置
+    public void interpolate(float alpha, int rows) {
+        if (alpha >= 1.0f) {
+            System.arraycopy(x, 0, renderX, 0, rows);
+            System.arraycopy(y, 0, renderY, 0, rows);
+            return;
+        }
+        for (int i = 0; i < rows; i++) {
+            renderX[i] = prevX[i] + (x[i] - prevX[i]) * alpha;
+            renderY[i] = prevY[i] + (y[i] - prevY[i]) * alpha;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.gameengine.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 引擎级工作窃取线程池：随引擎创建一次，所有系统共享，避免各系统各自建池导致的超额订阅与线程反复创建
+public class WorkerPool {
+    public interface RangeTask {
+        void run(int start, int end);
+    }
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final AtomicLong parallelForCalls;
+    private final AtomicLong tasksExecuted;
+
+    public WorkerPool() {
+        // 调用方在 invoke 期间阻塞等待，因此工作线程数等于核数即可占满 CPU
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public WorkerPool(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        this.pool = new ForkJoinPool(this.parallelism, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("engine-worker-" + t.getPoolIndex());
+            t.setDaemon(true);
+            return t;
+        }, null, false);
+        this.parallelForCalls = new AtomicLong();
+        this.tasksExecuted = new AtomicLong();
+    }
+
+    // 把 [start, end) 切分成不小于 minBatch 的区间并行执行；区间过小或单核时直接在调用线程执行
+    public void parallelFor(int start, int end, int minBatch, RangeTask task) {
+        int count = end - start;
+        if (count <= 0) return;
+        int batch = Math.max(1, minBatch);
+        if (count <= batch || parallelism == 1) {
+            task.run(start, end);
+            return;
+        }
+        parallelForCalls.incrementAndGet();
+        // 切得比线程数更细，便于工作窃取做负载均衡
+        int grain = Math.max(batch, count / (parallelism * 4));
+        invoke(new RangeAction(task, start, end, grain));
+    }
+
+    // 在池中执行任务；若当前已是本池的工作线程则直接在本线程执行（嵌套并行）
+    public void invoke(ForkJoinTask<?> task) {
+        Thread current = Thread.currentThread();
+        if (current instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) current).getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    private class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeTask task;
+        private final int start;
+        private final int end;
+        private final int grain;
+
+        RangeAction(RangeTask task, int start, int end, int grain) {
+            this.task = task;
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                tasksExecuted.incrementAndGet();
+                task.run(start, end);
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            invokeAll(new RangeAction(task, start, mid, grain), new RangeAction(task, mid, end, grain));
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    // 队列深度：工作线程队列中的任务 + 外部提交尚未被领取的任务
+    public long getQueuedTaskCount() {
+        return pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount();
+    }
+
+    public long getStealCount() {
+        return pool.getStealCount();
+    }
+
+    public int getActiveThreadCount() {
+        return pool.getActiveThreadCount();
+    }
+
+    public int getPoolSize() {
+        return pool.getPoolSize();
+    }
+
+    public long getParallelForCalls() {
+        return parallelForCalls.get();
+    }
+
+    public long getTasksExecuted() {
+        return tasksExecuted.get();
+    }
+
+    public String getStatsSummary() {
+        return String.format("parallelism=%d threads=%d queued=%d steals=%d parallelFor=%d tasks=%d",
+            parallelism, getPoolSize(), getQueuedTaskCount(), getStealCount(), getParallelForCalls(), getTasksExecuted());
+    }
+
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    public void shutdown() {
+        if (pool.isShutdown()) return;
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
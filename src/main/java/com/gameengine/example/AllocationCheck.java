@@ -0,0 +1,124 @@
+package com.gameengine.example;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameLogic;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+// 分配回归检查：测量 AI 避让与碰撞检测、物理积分每 tick 的堆分配量，超出预算时以非零状态退出
+// 用法: AllocationCheck [AI 数] [tick 数] [物理体数]
+public class AllocationCheck {
+    // 避让与碰撞每 tick 允许的分配字节数；逐对分配的回退会让它随实体数成倍增长
+    private static final long ALLOC_BUDGET_BYTES_PER_TICK = 1024;
+    // 物理积分只读写列存储，不允许任何分配
+    private static final long PHYSICS_ALLOC_BUDGET_BYTES_PER_TICK = 0;
+
+    public static void main(String[] args) {
+        int entities = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int bodies = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        if (threads == null) {
+            return;
+        }
+        boolean ok = checkAIPaths(threads, entities, ticks);
+        ok &= checkPhysics(threads, bodies, ticks);
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // AI 按 100 像素间距排成网格，互相之间不触发避让和碰撞，测量稳态下热路径的分配量
+    private static boolean checkAIPaths(com.sun.management.ThreadMXBean threads, int entityCount, int ticks) {
+        Scene scene = new Scene("AllocCheck");
+        GameLogic logic = new GameLogic(scene);
+        GameObject player = new GameObject("Player");
+        player.addComponent(new TransformComponent(new Vector2(-1000, -1000)));
+        player.addComponent(new PhysicsComponent(1.0f));
+        player.addTag(GameLogic.PLAYER_TAG);
+        scene.addGameObject(player);
+        int columns = (int) Math.ceil(Math.sqrt(entityCount));
+        for (int i = 0; i < entityCount; i++) {
+            GameObject ai = new GameObject("AIPlayer");
+            ai.addComponent(new TransformComponent(new Vector2((i % columns) * 100f, (i / columns) * 100f)));
+            ai.addComponent(new PhysicsComponent(1.0f));
+            ai.addTag(GameLogic.AI_TAG);
+            scene.addGameObject(ai);
+        }
+        scene.update(0f);
+
+        float dt = 1.0f / 60.0f;
+        long thread = Thread.currentThread().getId();
+        // 预热，让 JIT 完成编译与逃逸分析
+        for (int t = 0; t < Math.max(20, ticks); t++) {
+            logic.handleAIPlayerAvoidance(dt);
+            logic.checkCollisions(dt);
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int t = 0; t < ticks; t++) {
+            logic.handleAIPlayerAvoidance(dt);
+            logic.checkCollisions(dt);
+        }
+        long bytesPerTick = (threads.getThreadAllocatedBytes(thread) - before) / Math.max(1, ticks);
+
+        boolean ok = bytesPerTick <= ALLOC_BUDGET_BYTES_PER_TICK;
+        System.out.println(String.format("alloc: %d AIs x %d ticks  avoidance+collisions %d bytes/tick (budget %d)  %s",
+            entityCount, ticks, bytesPerTick, ALLOC_BUDGET_BYTES_PER_TICK, ok ? "OK" : "OVER BUDGET"));
+        if (!ok) {
+            System.err.println("AI 避让/碰撞检测每 tick 分配超出预算，热路径可能重新引入了临时对象");
+        }
+        return ok;
+    }
+
+    // 串行 PhysicsSystem 推进 bodyCount 个带速度的物体（含边界反弹），测量每 tick 的分配量
+    private static boolean checkPhysics(com.sun.management.ThreadMXBean threads, int bodyCount, int ticks) {
+        int width = 1024;
+        int height = 768;
+        Scene scene = new Scene("PhysicsAllocCheck");
+        for (int i = 0; i < bodyCount; i++) {
+            GameObject body = new GameObject("Body");
+            body.addComponent(new TransformComponent(new Vector2((i * 37) % width, (i * 53) % height)));
+            PhysicsComponent physics = body.addComponent(new PhysicsComponent(1.0f));
+            physics.setFriction(1.0f);
+            physics.setVelocity((i % 7 - 3) * 40f, (i % 5 - 2) * 40f);
+            scene.addGameObject(body);
+        }
+        scene.update(0f);
+        PhysicsSystem physicsSystem = new PhysicsSystem(scene, width, height);
+
+        float dt = 1.0f / 60.0f;
+        long thread = Thread.currentThread().getId();
+        for (int t = 0; t < Math.max(20, ticks); t++) {
+            physicsSystem.update(dt);
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int t = 0; t < ticks; t++) {
+            physicsSystem.update(dt);
+        }
+        long bytesPerTick = (threads.getThreadAllocatedBytes(thread) - before) / Math.max(1, ticks);
+
+        boolean ok = bytesPerTick <= PHYSICS_ALLOC_BUDGET_BYTES_PER_TICK;
+        System.out.println(String.format("alloc: %d bodies x %d ticks  physics %d bytes/tick (budget %d)  %s",
+            bodyCount, ticks, bytesPerTick, PHYSICS_ALLOC_BUDGET_BYTES_PER_TICK, ok ? "OK" : "OVER BUDGET"));
+        if (!ok) {
+            System.err.println("物理积分每 tick 分配超出预算，PhysicsSystem 可能重新引入了临时向量");
+        }
+        return ok;
+    }
+
+    // 支持按线程统计分配量时返回计数器，否则返回 null
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean mx = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (!(mx instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) mx).isThreadAllocatedMemorySupported()) {
+            System.err.println("当前 JVM 不支持按线程统计分配量，跳过检查");
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) mx;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
@@ -0,0 +1,89 @@
+package com.gameengine.example;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.core.BatchSimulation;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.GameLogic;
+import com.gameengine.input.InputManager;
+
+// 批量无窗口模拟：并行运行多局 GameScene，玩家由脚本操控，输出每局结果与合计吞吐
+// 用法: BatchLauncher [世界数] [每局 tick 数] [种子]
+public class BatchLauncher {
+    // 一局结束时的状态
+    static class Outcome {
+        boolean gameOver;
+        float playerHealth;
+        int aiCount;
+        // 对象池命中/未命中
+        long aiHits, aiMisses, bulletHits, bulletMisses;
+    }
+
+    // W A S D
+    private static final int[] MOVE_KEYS = {87, 65, 83, 68};
+
+    public static void main(String[] args) {
+        int worlds = args != null && args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        long ticks = args != null && args.length > 1 ? Long.parseLong(args[1]) : 3600;
+        long seed = args != null && args.length > 2 ? Long.parseLong(args[2]) : 1L;
+
+        BatchSimulation<Outcome> batch = new BatchSimulation<>(worlds, (engine, index) -> new GameScene(engine));
+        batch.setTicksPerWorld(ticks);
+        batch.setBaseSeed(seed);
+        batch.setInputScript(BatchLauncher::script);
+        // 游戏结束后场景会等待按键返回菜单，这里直接结束该局
+        batch.setStopCondition((engine, index) -> engine.getCurrentScene() instanceof GameScene
+            && ((GameScene) engine.getCurrentScene()).getGameLogic().isGameOver());
+
+        BatchSimulation.Report<Outcome> report = batch.run((engine, index) -> {
+            Outcome outcome = new Outcome();
+            if (engine.getCurrentScene() instanceof GameScene) {
+                GameScene scene = (GameScene) engine.getCurrentScene();
+                GameLogic logic = scene.getGameLogic();
+                outcome.gameOver = logic.isGameOver();
+                outcome.aiCount = logic.getAIPlayers().size();
+                GameObject player = logic.getUserPlayer();
+                PhysicsComponent physics = player != null ? player.getComponent(PhysicsComponent.class) : null;
+                outcome.playerHealth = physics != null ? physics.getHealth() : 0f;
+                outcome.aiHits = scene.getAIPool().getHits();
+                outcome.aiMisses = scene.getAIPool().getMisses();
+                outcome.bulletHits = scene.getBulletPool().getHits();
+                outcome.bulletMisses = scene.getBulletPool().getMisses();
+            }
+            return outcome;
+        });
+
+        int gameOvers = 0;
+        for (BatchSimulation.WorldResult<Outcome> world : report.getWorlds()) {
+            if (world.isFailed()) {
+                System.out.println(String.format("world %3d  FAILED: %s", world.getWorldIndex(), world.getError()));
+                continue;
+            }
+            Outcome o = world.getOutcome();
+            if (o.gameOver) gameOvers++;
+            System.out.println(String.format("world %3d  ticks=%d  %s  hp=%.0f  ai=%d  pool ai %d/%d bullet %d/%d (hit/miss)",
+                world.getWorldIndex(), world.getTicks(), o.gameOver ? "GAME OVER" : "alive", o.playerHealth, o.aiCount,
+                o.aiHits, o.aiMisses, o.bulletHits, o.bulletMisses));
+        }
+        System.out.println(String.format("%d worlds, %d ticks in %.2f s  aggregate %.1f ticks/s  game over %d/%d  failed %d",
+            worlds, report.getTotalTicks(), report.getWallNanos() / 1_000_000_000.0,
+            report.getAggregateTicksPerSecond(), gameOvers, worlds, report.getFailedCount()));
+    }
+
+    // 每秒换一个移动方向，每半秒朝屏幕中心开一枪；各世界的节奏错开
+    private static void script(InputManager input, long tick, int world) {
+        long phase = tick + world * 17L;
+        if (phase % 60 == 0) {
+            int next = MOVE_KEYS[(int) ((phase / 60) % MOVE_KEYS.length)];
+            for (int key : MOVE_KEYS) {
+                if (key != next) input.onKeyReleased(key);
+            }
+            input.onKeyPressed(next);
+        }
+        if (phase % 30 == 0) {
+            input.onMouseMoved(512f, 384f);
+            input.onMousePressed(0);
+        } else if (phase % 30 == 1) {
+            input.onMouseReleased(0);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.gameengine.example;
+
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Broadphase;
+import com.gameengine.core.QueryResult;
+import com.gameengine.math.Vector2;
+import java.util.List;
+import java.util.Random;
+
+// 宽相对比：以固定密度分别放置 100/1000/10000 个 AI，对网格、排序扫描、包围盒树三种宽相测量 AI 碰撞
+// 与高速子弹查询的耗时，并与逐对扫描对比；各宽相的碰撞结果不一致时以非零状态退出
+// 用法: BroadphaseBenchmark [tick 数] [AI 数...]
+public class BroadphaseBenchmark {
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 120;
+        int[] counts = args.length > 1 ? new int[args.length - 1] : new int[]{100, 1000, 10000};
+        for (int i = 1; i < args.length; i++) {
+            counts[i - 1] = Integer.parseInt(args[i]);
+        }
+        boolean ok = true;
+        for (int count : counts) {
+            ok &= run(count, ticks);
+        }
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // 以相同的初始状态分别用每种宽相运行，比较耗时；各宽相的最终状态哈希必须一致
+    private static boolean run(int entityCount, int ticks) {
+        boolean ok = true;
+        long expected = 0;
+        List<TransformComponent> transforms = null;
+        for (int b = 0; b < ContactWorkload.BROADPHASES.length; b++) {
+            String name = ContactWorkload.BROADPHASES[b];
+            ContactWorkload workload = new ContactWorkload(entityCount, name, null);
+            // 预热，让 JIT 编译碰撞路径
+            workload.run(Math.max(100, ticks));
+            long nanos = workload.run(ticks);
+            long hash = workload.stateHash();
+            System.out.println(String.format("broadphase: %5d AIs  %-6s collisions %.3f ms/tick  candidates %d  state %016x",
+                entityCount, name, nanos / 1e6 / ticks, workload.candidateCount(), hash));
+            if (b == 0) {
+                expected = hash;
+                transforms = workload.getTransforms();
+            } else if (hash != expected) {
+                System.err.println("宽相 " + name + " 的碰撞结果与 " + ContactWorkload.BROADPHASES[0] + " 不一致");
+                ok = false;
+            }
+        }
+
+        // 旧实现的逐对扫描（只做距离判定，不含窄相），作为对照
+        int rounds = Math.max(1, Math.min(ticks, 2_000_000 / Math.max(1, entityCount)));
+        int contacts = 0;
+        for (int r = 0; r < Math.max(1, rounds / 4); r++) {
+            contacts = countContactsAllPairs(transforms);
+        }
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            contacts = countContactsAllPairs(transforms);
+        }
+        long allPairsNanos = (System.nanoTime() - start) / rounds;
+        System.out.println(String.format("broadphase: %5d AIs  %-6s all-pairs scan %.3f ms  contacts %d",
+            entityCount, "-", allPairsNanos / 1e6, contacts));
+
+        for (String name : ContactWorkload.BROADPHASES) {
+            runQueryWorkload(entityCount, ticks, name);
+        }
+        return ok;
+    }
+
+    // 子弹（AI 数的 1/10，600 像素/秒）每 tick 查询附近的 AI；每 tick 先刷新 AI 命中框，再逐颗子弹查询
+    private static void runQueryWorkload(int entityCount, int ticks, String broadphaseName) {
+        int side = (int) Math.ceil(Math.sqrt(entityCount) * 60);
+        int bulletCount = Math.max(1, entityCount / 10);
+        Random random = new Random(entityCount + 1);
+        float[] ai = new float[entityCount * 4];
+        for (int i = 0; i < entityCount; i++) {
+            ai[i * 4] = random.nextFloat() * side;
+            ai[i * 4 + 1] = random.nextFloat() * side;
+            ai[i * 4 + 2] = random.nextFloat() * 120 - 60;
+            ai[i * 4 + 3] = random.nextFloat() * 120 - 60;
+        }
+        float[] bullets = new float[bulletCount * 4];
+        for (int i = 0; i < bulletCount; i++) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            bullets[i * 4] = random.nextFloat() * side;
+            bullets[i * 4 + 1] = random.nextFloat() * side;
+            bullets[i * 4 + 2] = (float) Math.cos(angle) * 600f;
+            bullets[i * 4 + 3] = (float) Math.sin(angle) * 600f;
+        }
+
+        Broadphase broadphase = ContactWorkload.newBroadphase(broadphaseName, false);
+        QueryResult found = new QueryResult();
+        float aiRadius = 10f;
+        float bulletRadius = 4f;
+        float dt = 1.0f / 60.0f;
+        long hits = 0;
+        long nanos = 0;
+        int warmup = Math.max(100, ticks);
+        for (int t = 0; t < warmup + ticks; t++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < entityCount; i++) {
+                ai[i * 4] = wrap(ai[i * 4] + ai[i * 4 + 2] * dt, side);
+                ai[i * 4 + 1] = wrap(ai[i * 4 + 1] + ai[i * 4 + 3] * dt, side);
+                float x = ai[i * 4];
+                float y = ai[i * 4 + 1];
+                broadphase.update(i, x - aiRadius, y - aiRadius, x + aiRadius, y + aiRadius);
+            }
+            for (int i = 0; i < bulletCount; i++) {
+                float bx = wrap(bullets[i * 4] + bullets[i * 4 + 2] * dt, side);
+                float by = wrap(bullets[i * 4 + 1] + bullets[i * 4 + 3] * dt, side);
+                bullets[i * 4] = bx;
+                bullets[i * 4 + 1] = by;
+                found.clear();
+                broadphase.queryRadius(bx, by, bulletRadius + 1f, found);
+                for (int k = 0; k < found.size(); k++) {
+                    int id = found.get(k);
+                    if (t >= warmup && Vector2.distance(bx, by, ai[id * 4], ai[id * 4 + 1]) < aiRadius + bulletRadius) {
+                        hits++;
+                    }
+                }
+            }
+            if (t >= warmup) {
+                nanos += System.nanoTime() - start;
+            }
+        }
+        System.out.println(String.format("broadphase: %5d AIs  %-6s bullet queries (%d bullets) %.3f ms/tick  hits %d",
+            entityCount, broadphaseName, bulletCount, nanos / 1e6 / ticks, hits));
+    }
+
+    private static float wrap(float v, int side) {
+        if (v < 0) return v + side;
+        if (v >= side) return v - side;
+        return v;
+    }
+
+    private static int countContactsAllPairs(List<TransformComponent> transforms) {
+        int contacts = 0;
+        for (int i = 0; i < transforms.size(); i++) {
+            TransformComponent a = transforms.get(i);
+            for (int j = i + 1; j < transforms.size(); j++) {
+                TransformComponent b = transforms.get(j);
+                float dist = Vector2.distance(a.getX(), a.getY(), b.getX(), b.getY());
+                if (dist > 0 && dist < 26.0f) contacts++;
+            }
+        }
+        return contacts;
+    }
+}
@@ -17,18 +17,39 @@ public class Bullet {
     private int damage;
 
     public Bullet(Vector2 position, Vector2 velocity, IRenderer renderer, float r, float g, float b, float a, int damage) {
-        this.bulletId = bulletCounter++;
-        this.position = new Vector2(position);
-        this.velocity = new Vector2(velocity);
+        this(renderer);
+        spawn(position, velocity, r, g, b, a, damage);
+    }
+
+    // 供对象池创建的空子弹，调用 spawn 后才会生效
+    public Bullet(IRenderer renderer) {
+        this.position = new Vector2();
+        this.velocity = new Vector2();
         this.renderer = renderer;
         this.radius = 3.0f;
-        this.lifetime = 0.0f;
         this.maxLifetime = 5.0f;  // 5秒后自动消失
+        this.alive = false;
+    }
+
+    // （重新）发射：复用本对象，分配新的子弹编号
+    public void spawn(Vector2 position, Vector2 velocity, float r, float g, float b, float a, int damage) {
+        this.bulletId = bulletCounter++;
+        this.position.x = position.x;
+        this.position.y = position.y;
+        this.velocity.x = velocity.x;
+        this.velocity.y = velocity.y;
+        this.lifetime = 0.0f;
         this.alive = true;
         this.r = r; this.g = g; this.b = b; this.a = a;
         this.damage = damage;
     }
 
+    // 回收到对象池时调用
+    public void reset() {
+        alive = false;
+        lifetime = 0.0f;
+    }
+
     public void update(float deltaTime) {
         if (!alive) return;
 
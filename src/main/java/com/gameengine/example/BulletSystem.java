@@ -0,0 +1,94 @@
+package com.gameengine.example;
+
+import com.gameengine.components.RenderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.ObjectPool;
+import com.gameengine.graphics.IRenderer;
+import com.gameengine.input.InputManager;
+import com.gameengine.math.Vector2;
+import java.util.ArrayList;
+import java.util.List;
+
+// 玩家子弹：射击冷却、存活子弹列表和子弹对象池。
+// 在系统调度器中作为单独的资源声明读写，子弹更新因此不会与只读 GameScene 的系统冲突
+class BulletSystem {
+    private static final float SHOOT_INTERVAL = 0.15f;
+    private static final float BULLET_SPEED = 600.0f; // 更快的子弹速度
+
+    private final List<Bullet> bullets;
+    private final ObjectPool<Bullet> pool;
+    private float shootCooldown;
+
+    BulletSystem(IRenderer renderer, int poolSize) {
+        this.bullets = new ArrayList<>();
+        this.pool = new ObjectPool<>(() -> new Bullet(renderer), Bullet::reset, poolSize);
+        this.shootCooldown = 0f;
+    }
+
+    // 处理玩家射击（鼠标左键朝鼠标方向发射），再推进所有活子弹；shooter 为 null 时只推进
+    void update(float deltaTime, InputManager input, GameObject shooter) {
+        shootCooldown -= deltaTime;
+        if (shootCooldown <= 0 && input.isMouseButtonJustPressed(0)) {
+            shootCooldown = SHOOT_INTERVAL;
+            if (shooter != null) {
+                fire(shooter, input.getMousePosition());
+            }
+        }
+
+        for (int i = bullets.size() - 1; i >= 0; i--) {
+            Bullet b = bullets.get(i);
+            b.update(deltaTime);
+            if (!b.isAlive()) {
+                release(i);
+            }
+        }
+    }
+
+    private void fire(GameObject shooter, Vector2 target) {
+        TransformComponent shooterTransform = shooter.getComponent(TransformComponent.class);
+        if (shooterTransform == null) return;
+
+        Vector2 shooterPos = shooterTransform.getPosition();
+        Vector2 dir = target.subtract(shooterPos);
+        if (dir.magnitude() <= 0) dir = new Vector2(0, -1);
+        else dir = dir.normalize();
+        Vector2 bulletVel = dir.multiply(BULLET_SPEED);
+        // 子弹继承玩家颜色并造成固定伤害（1）
+        RenderComponent src = shooter.getComponent(RenderComponent.class);
+        float br = 1f, bg = 1f, bb = 0f, ba = 1f;
+        if (src != null) {
+            RenderComponent.Color c = src.getColor();
+            br = c.r; bg = c.g; bb = c.b; ba = c.a;
+        }
+        int damage = 1;
+        Bullet bullet = pool.acquire();
+        bullet.spawn(shooterPos, bulletVel, br, bg, bb, ba, damage);
+        bullets.add(bullet);
+    }
+
+    // 移除下标 i 处的子弹并回收到对象池；倒序遍历时其余子弹的下标不变
+    void release(int i) {
+        pool.release(bullets.remove(i));
+    }
+
+    void render() {
+        for (Bullet bullet : bullets) {
+            if (bullet.isAlive()) {
+                bullet.render();
+            }
+        }
+    }
+
+    void clear() {
+        bullets.clear();
+    }
+
+    List<Bullet> getBullets() {
+        return bullets;
+    }
+
+    ObjectPool<Bullet> getPool() {
+        return pool;
+    }
+}
@@ -0,0 +1,65 @@
+package com.gameengine.example;
+
+import com.gameengine.core.Broadphase;
+import com.gameengine.core.SweepAndPrune;
+import com.gameengine.core.WorkerPool;
+
+// 碰撞求解一致性检查：同样的场景分别串行与分层并行求解 AI 碰撞，对比耗时；
+// 两者的最终状态哈希不一致时以非零状态退出。
+// 除常规密度外还运行一个拥挤场景：宽相不留扩张余量、AI 间距小于接触半径，分离几乎总会把 AI 推出包围盒，
+// 并行路径必然遇到新增候选对冲突并回滚；该场景没有发生回滚同样视为失败，保证回滚路径始终被覆盖
+// 用法: ContactSolverCheck [tick 数] [AI 数...]
+public class ContactSolverCheck {
+    private static final float CROWDED_SPACING = 15f;
+    private static final int[] CROWDED_COUNTS = {500, 2000};
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 120;
+        int[] counts = args.length > 1 ? new int[args.length - 1] : new int[]{100, 1000, 10000, 30000};
+        for (int i = 1; i < args.length; i++) {
+            counts[i - 1] = Integer.parseInt(args[i]);
+        }
+        // 至少两个线程，单核机器上也走并行路径，用来校验结果
+        WorkerPool pool = new WorkerPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        boolean ok = true;
+        for (int count : counts) {
+            ok &= check("spread", count, ticks, ContactWorkload.DEFAULT_SPACING, false, pool);
+        }
+        for (int count : CROWDED_COUNTS) {
+            ok &= check("crowded", count, ticks, CROWDED_SPACING, true, pool);
+        }
+        pool.shutdown();
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(String scenario, int entityCount, int ticks, float spacing,
+            boolean expectRollbacks, WorkerPool pool) {
+        ContactWorkload serial = run(scenario, "serial", entityCount, ticks, spacing, expectRollbacks, null);
+        ContactWorkload parallel = run(scenario, "parallel", entityCount, ticks, spacing, expectRollbacks, pool);
+        if (serial.stateHash() != parallel.stateHash()) {
+            System.err.println("并行碰撞求解的结果与串行不一致: " + scenario + " " + entityCount + " 个 AI");
+            return false;
+        }
+        if (expectRollbacks && parallel.getLogic().getContactRollbackCount() == 0) {
+            System.err.println("拥挤场景没有触发回滚，回滚路径未被覆盖: " + entityCount + " 个 AI");
+            return false;
+        }
+        return true;
+    }
+
+    private static ContactWorkload run(String scenario, String label, int entityCount, int ticks, float spacing,
+            boolean crowded, WorkerPool pool) {
+        Broadphase broadphase = crowded ? new SweepAndPrune(0f) : ContactWorkload.newBroadphase("sweep", true);
+        ContactWorkload workload = new ContactWorkload(entityCount, spacing, broadphase, pool);
+        int warmup = Math.max(100, ticks);
+        workload.run(warmup);
+        long nanos = workload.run(ticks);
+        String rollbacks = pool == null ? "" : String.format("  rollbacks %d in %d ticks",
+            workload.getLogic().getContactRollbackCount(), warmup + ticks);
+        System.out.println(String.format("solver: %-7s %5d AIs  %-8s collisions %.3f ms/tick  candidates %d  state %016x%s",
+            scenario, entityCount, label, nanos / 1e6 / ticks, workload.candidateCount(), workload.stateHash(), rollbacks));
+        return workload;
+    }
+}
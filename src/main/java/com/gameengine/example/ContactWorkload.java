@@ -0,0 +1,118 @@
+package com.gameengine.example;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Broadphase;
+import com.gameengine.core.DynamicAABBTree;
+import com.gameengine.core.GameLogic;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.PairBuffer;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.core.SpatialHashGrid;
+import com.gameengine.core.SweepAndPrune;
+import com.gameengine.core.WorkerPool;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// AI 碰撞负载：AI 按约每 spacing x spacing 像素一个的密度随机分布并带随机速度，由 PhysicsSystem 推进后调用 checkCollisions。
+// 宽相对比与碰撞求解检查共用；相同的 AI 数与间距得到相同的初始状态
+class ContactWorkload {
+    static final String[] BROADPHASES = {"grid", "sweep", "tree"};
+    // 默认密度：约每 60x60 像素一个 AI
+    static final float DEFAULT_SPACING = 60f;
+
+    private final PhysicsSystem physicsSystem;
+    private final GameLogic logic;
+    private final Broadphase broadphase;
+    private final List<TransformComponent> transforms;
+    private final float dt = 1.0f / 60.0f;
+
+    ContactWorkload(int entityCount, String broadphaseName, WorkerPool pool) {
+        this(entityCount, DEFAULT_SPACING, newBroadphase(broadphaseName, true), pool);
+    }
+
+    // pool 不为 null 时不论规模都并行求解碰撞
+    ContactWorkload(int entityCount, float spacing, Broadphase broadphase, WorkerPool pool) {
+        int side = (int) Math.ceil(Math.sqrt(entityCount) * spacing);
+        Scene scene = new Scene("ContactWorkload");
+        this.logic = new GameLogic(scene);
+        this.broadphase = broadphase;
+        logic.setContactBroadphase(broadphase);
+        if (pool != null) {
+            logic.setWorkerPool(pool);
+            logic.setParallelContactThreshold(0);
+        }
+        GameObject player = new GameObject("Player");
+        player.addComponent(new TransformComponent(new Vector2(-1000, -1000)));
+        player.addComponent(new PhysicsComponent(1.0f));
+        player.addTag(GameLogic.PLAYER_TAG);
+        scene.addGameObject(player);
+        this.transforms = new ArrayList<>(entityCount);
+        Random random = new Random(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            GameObject ai = new GameObject("AIPlayer");
+            transforms.add(ai.addComponent(new TransformComponent(
+                new Vector2(random.nextFloat() * side, random.nextFloat() * side))));
+            PhysicsComponent physics = ai.addComponent(new PhysicsComponent(0.6f));
+            physics.setFriction(1.0f);
+            physics.setVelocity(random.nextFloat() * 120 - 60, random.nextFloat() * 120 - 60);
+            ai.addTag(GameLogic.AI_TAG);
+            scene.addGameObject(ai);
+        }
+        scene.update(0f);
+        this.physicsSystem = new PhysicsSystem(scene, side, side);
+    }
+
+    // 两种负载下的候选宽相：AI 之间的碰撞（缓慢移动、尺寸相同）与高速子弹对 AI 的命中查询
+    static Broadphase newBroadphase(String name, boolean contacts) {
+        switch (name) {
+            case "grid":
+                return contacts ? new SpatialHashGrid(32f, 4f) : new SpatialHashGrid(64f);
+            case "sweep":
+                return new SweepAndPrune(contacts ? 8f : 2f);
+            case "tree":
+                return new DynamicAABBTree(contacts ? 8f : 2f);
+            default:
+                throw new IllegalArgumentException("未知的宽相: " + name);
+        }
+    }
+
+    // 推进 ticks 个 tick，返回 checkCollisions 的总耗时（纳秒）
+    long run(int ticks) {
+        long collisionNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            physicsSystem.update(dt);
+            long start = System.nanoTime();
+            logic.checkCollisions(dt);
+            collisionNanos += System.nanoTime() - start;
+        }
+        return collisionNanos;
+    }
+
+    int candidateCount() {
+        PairBuffer candidates = new PairBuffer();
+        broadphase.collectPairs(candidates);
+        return candidates.size();
+    }
+
+    // 所有 AI 位置的位模式哈希
+    long stateHash() {
+        long hash = 17;
+        for (TransformComponent transform : transforms) {
+            hash = 31 * hash + Float.floatToIntBits(transform.getX());
+            hash = 31 * hash + Float.floatToIntBits(transform.getY());
+        }
+        return hash;
+    }
+
+    List<TransformComponent> getTransforms() {
+        return transforms;
+    }
+
+    GameLogic getLogic() {
+        return logic;
+    }
+}
@@ -1,72 +1,79 @@
 package com.gameengine.example;
 
+import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameLogic;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.Prefab;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
 
+// 实体的统一构建入口：游戏场景与回放场景共用同一套外观，游戏里再加上物理组件
 public final class EntityFactory {
     private EntityFactory() {}
 
     public static GameObject createPlayerVisual(IRenderer renderer) {
-        GameObject obj = new GameObject("Player") {
-            private Vector2 basePosition;
-            @Override
-            public void update(float dt) {
-                super.update(dt);
-                TransformComponent tc = getComponent(TransformComponent.class);
-                if (tc != null) basePosition = tc.getPosition();
-            }
-            @Override
-            public void render() {
-                if (basePosition == null) return;
-                com.gameengine.components.RenderComponent rc = getComponent(com.gameengine.components.RenderComponent.class);
-                com.gameengine.components.RenderComponent.Color color = rc != null ? rc.getColor() : new com.gameengine.components.RenderComponent.Color(1f,0f,0f,1f);
-                float r = color.r, g = color.g, b = color.b, a = color.a;
-                renderer.drawRect(basePosition.x - 8, basePosition.y - 10, 16, 20, r, g, b, a);
-                renderer.drawRect(basePosition.x - 6, basePosition.y - 22, 12, 12, Math.min(1f, r+0.2f), Math.min(1f, g+0.2f), Math.min(1f, b+0.0f), a);
-                renderer.drawRect(basePosition.x - 13, basePosition.y - 5, 6, 12, Math.min(1f, r+0.4f), Math.min(1f, g+0.6f), Math.min(1f, b+0.0f), a);
-                renderer.drawRect(basePosition.x + 7, basePosition.y - 5, 6, 12, Math.min(1f, r-0.5f), Math.min(1f, g+0.6f), Math.min(1f, b+0.6f), a);
-            }
-        };
-        // attach a RenderComponent so color can be modified at runtime (useful for replay)
-        com.gameengine.components.RenderComponent prc = obj.addComponent(new com.gameengine.components.RenderComponent(
-            com.gameengine.components.RenderComponent.RenderType.RECTANGLE,
-            new com.gameengine.math.Vector2(16,20),
-            new com.gameengine.components.RenderComponent.Color(1.0f, 0.0f, 0.0f, 1.0f)
-        ));
-        prc.setRenderer(renderer);
-        return obj;
+        return createPlayerVisual(renderer, 1.0f, 0.0f, 0.0f, 1.0f);
     }
 
+    // 玩家外观：身体颜色取自 RenderComponent（便于录制与换色），头和四肢为肉色
     public static GameObject createPlayerVisual(IRenderer renderer, float r, float g, float b, float a) {
         GameObject obj = new GameObject("Player") {
             private Vector2 basePosition;
+
             @Override
-            public void update(float dt) {
-                super.update(dt);
-                TransformComponent tc = getComponent(TransformComponent.class);
-                if (tc != null) basePosition = tc.getPosition();
+            public void update(float deltaTime) {
+                super.update(deltaTime);
+                TransformComponent transform = getComponent(TransformComponent.class);
+                if (transform != null) basePosition = transform.getPosition();
             }
+
             @Override
             public void render() {
+                TransformComponent transform = getComponent(TransformComponent.class);
+                if (transform != null) basePosition = transform.getRenderPosition();
                 if (basePosition == null) return;
-                com.gameengine.components.RenderComponent rc = getComponent(com.gameengine.components.RenderComponent.class);
-                com.gameengine.components.RenderComponent.Color color = rc != null ? rc.getColor() : new com.gameengine.components.RenderComponent.Color(r,g,b,a);
-                float rr = color.r, gg = color.g, bb = color.b, aa = color.a;
-                renderer.drawRect(basePosition.x - 8, basePosition.y - 10, 16, 20, rr, gg, bb, aa);
-                renderer.drawRect(basePosition.x - 6, basePosition.y - 22, 12, 12, Math.min(1f, rr+0.2f), Math.min(1f, gg+0.2f), Math.min(1f, bb+0.0f), aa);
-                renderer.drawRect(basePosition.x - 13, basePosition.y - 5, 6, 12, Math.min(1f, rr+0.4f), Math.min(1f, gg+0.6f), Math.min(1f, bb+0.0f), aa);
-                renderer.drawRect(basePosition.x + 7, basePosition.y - 5, 6, 12, Math.min(1f, rr-0.5f), Math.min(1f, gg+0.6f), Math.min(1f, bb+0.6f), aa);
+
+                RenderComponent rc = getComponent(RenderComponent.class);
+                float cr = rc != null ? rc.getColor().r : 1f;
+                float cg = rc != null ? rc.getColor().g : 0f;
+                float cb = rc != null ? rc.getColor().b : 0f;
+                float x = basePosition.x, y = basePosition.y;
+
+                renderer.drawRect(x - 8, y - 10, 16, 20, cr, cg, cb, 0.9f);
+                // 头、手臂、腿（肉色）
+                renderer.drawRect(x - 6, y - 22, 12, 12, 1.0f, 0.8f, 0.7f, 1.0f);
+                renderer.drawRect(x - 13, y - 5, 6, 12, 1.0f, 0.8f, 0.7f, 1.0f);
+                renderer.drawRect(x + 7, y - 5, 6, 12, 1.0f, 0.8f, 0.7f, 1.0f);
+                renderer.drawRect(x - 7, y + 10, 6, 10, 1.0f, 0.8f, 0.7f, 1.0f);
+                renderer.drawRect(x, y + 10, 6, 10, 1.0f, 0.8f, 0.7f, 1.0f);
+                // 眼睛与嘴（黑色）
+                renderer.drawCircle(x + 3, y - 17, 2, 2, 0.0f, 0.0f, 0.0f, 1.0f);
+                renderer.drawCircle(x - 3, y - 17, 2, 2, 0.0f, 0.0f, 0.0f, 1.0f);
+                renderer.drawRect(x - 3, y - 13, 6, 2, 0.0f, 0.0f, 0.0f, 1.0f);
             }
         };
-        com.gameengine.components.RenderComponent prc = obj.addComponent(new com.gameengine.components.RenderComponent(
-            com.gameengine.components.RenderComponent.RenderType.RECTANGLE,
-            new com.gameengine.math.Vector2(16,20),
-            new com.gameengine.components.RenderComponent.Color(r, g, b, a)
+        obj.addComponent(new TransformComponent(new Vector2(0, 0)));
+        // RenderComponent 只记录颜色与尺寸（录制回放用），实际绘制在上面的 render 中
+        RenderComponent rc = obj.addComponent(new RenderComponent(
+            RenderComponent.RenderType.RECTANGLE,
+            new Vector2(16, 20),
+            new RenderComponent.Color(r, g, b, a)
         ));
-        prc.setRenderer(renderer);
+        rc.setRenderer(renderer);
+        obj.addTag(GameLogic.PLAYER_TAG);
+        return obj;
+    }
+
+    // 可操控的玩家：外观 + 物理，生命 3
+    public static GameObject createPlayer(IRenderer renderer, Vector2 position) {
+        GameObject obj = createPlayerVisual(renderer);
+        obj.getComponent(TransformComponent.class).resetPosition(position.x, position.y);
+        PhysicsComponent physics = obj.addComponent(new PhysicsComponent(1.0f));
+        physics.setFriction(0.95f);
+        physics.setMaxHealth(3f);
+        physics.setHealth(3f);
         return obj;
     }
 
@@ -81,6 +88,27 @@ public final class EntityFactory {
         rc.setRenderer(renderer);
         return obj;
     }
-}
 
+    // AI 敌人预制体：外观 + 物理。生成时由调用方设置位置、尺寸、颜色、质量与生命
+    public static Prefab aiPrefab(IRenderer renderer) {
+        return new Prefab() {
+            @Override
+            public GameObject create() {
+                GameObject obj = createAIVisual(renderer, 20, 20, 1f, 0f, 0f, 1f);
+                PhysicsComponent physics = obj.addComponent(new PhysicsComponent(0.6f));
+                // 降低摩擦以避免速度迅速衰减导致卡住
+                physics.setFriction(0.92f);
+                physics.setMaxHealth(1f);
+                physics.setHealth(1f);
+                obj.addTag(GameLogic.AI_TAG);
+                return obj;
+            }
 
+            @Override
+            protected void reset(GameObject obj) {
+                obj.getComponent(PhysicsComponent.class).reset();
+                obj.getComponent(RenderComponent.class).setVisible(true);
+            }
+        };
+    }
+}
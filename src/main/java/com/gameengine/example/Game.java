@@ -11,6 +11,8 @@ public class Game {
         try {
             System.out.println("使用渲染后端: GPU");
             engine = new GameEngine(1024, 768, "游戏引擎", RenderBackend.GPU);
+            engine.setFixedTimestep(true);
+            engine.setTickRate(60.0f);
 
             MenuScene menuScene = new MenuScene(engine, "MainMenu");
             engine.setScene(menuScene);
@@ -3,11 +3,19 @@ package com.gameengine.example;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Broadphase;
 import com.gameengine.core.GameEngine;
 import com.gameengine.core.GameLogic;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.ObjectPool;
 import com.gameengine.core.ParticleSystem;
+import com.gameengine.core.QualityGovernor;
+import com.gameengine.core.QueryResult;
+import com.gameengine.core.RandomStreams;
+import com.gameengine.core.SpatialHashGrid;
+import com.gameengine.core.SystemScheduler;
 import com.gameengine.graphics.IRenderer;
+import com.gameengine.input.InputManager;
 import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 import java.util.*;
@@ -16,6 +24,8 @@ public class GameScene extends Scene {
     private final GameEngine engine;
     private IRenderer renderer;
     private Random random;
+    // 各粒子系统的种子来源，保证确定性模式下粒子序列可复现
+    private Random particleRandom;
     private float time;
     private GameLogic gameLogic;
     private List<float[]> palette;
@@ -27,9 +37,18 @@ public class GameScene extends Scene {
     private float freezeTimer;
     private final float inputCooldown = 0.25f;
     private final float freezeDelay = 0.20f;
-    private List<Bullet> bullets;
-    private float shootCooldown;
-    private final float shootInterval = 0.15f;
+    private BulletSystem bulletSystem;
+    // AI 与子弹的对象池：死亡的 AI 离开场景后回收，失效的子弹移出列表后回收
+    private ObjectPool<GameObject> aiPool;
+    // 子弹命中检测用的宽相：条目是 AI 命中圆的包围盒，ID 为 AI 列表下标；AI 死亡后列表顺序改变，需要重新登记
+    private Broadphase hitBroadphase;
+    private int hitBoxCount;
+    private QueryResult hitCandidates;
+    private SystemScheduler scheduler;
+    // 画质调节：由引擎的 QualityGovernor 决定等级，等级变化时重新应用各项开销参数
+    private QualityGovernor quality;
+    private int appliedQualityLevel;
+    private float aiSpawnInterval;
 
     public GameScene(GameEngine engine) {
         super("GameScene");
@@ -40,7 +59,12 @@ public class GameScene extends Scene {
     public void initialize() {
         super.initialize();
         this.renderer = engine.getRenderer();
-        this.random = new Random();
+        this.quality = engine.getQualityGovernor();
+        this.appliedQualityLevel = -1;
+        this.aiSpawnInterval = 1.0f;
+        RandomStreams streams = engine.getRandomStreams().child(getName());
+        this.random = streams.stream("spawn");
+        this.particleRandom = streams.stream("particles");
         this.time = 0;
         this.gameLogic = new GameLogic(this);
         this.gameLogic.setGameEngine(engine);
@@ -57,19 +81,91 @@ public class GameScene extends Scene {
         this.waitingReturn = false;
         this.waitInputTimer = 0f;
         this.freezeTimer = 0f;
-        this.bullets = new ArrayList<>();
-        this.shootCooldown = 0f;
+        this.bulletSystem = new BulletSystem(renderer, 256);
+        this.aiPool = EntityFactory.aiPrefab(renderer).newPool(256);
+        // 可在 initialize 之前通过 setHitBroadphase 指定
+        if (this.hitBroadphase == null) {
+            this.hitBroadphase = new SpatialHashGrid(64f);
+        }
+        this.hitBroadphase.clear();
+        this.hitBoxCount = 0;
+        this.hitCandidates = new QueryResult();
 
         createPlayer();
         createAIPlayers();
         createDecorations();
 
         collisionParticles = new ArrayList<>();
-        aiPlayerParticles = new HashMap<>();
+        aiPlayerParticles = new LinkedHashMap<>();
 
-        playerParticles = new ParticleSystem(renderer, new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f));
+        playerParticles = newParticleSystem(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f), ParticleSystem.Config.defaultPlayer());
         playerParticles.setActive(true);
-        
+
+        createSystems();
+        applyQuality();
+    }
+
+    // 按当前画质等级调整粒子生成率/上限、圆形分段数与 AI 生成间隔
+    private void applyQuality() {
+        appliedQualityLevel = quality.getLevel();
+        float scale = quality.getQualityScale();
+        aiSpawnInterval = 1.0f / scale;
+        if (playerParticles != null) {
+            playerParticles.setSpawnScale(scale);
+        }
+        for (ParticleSystem ps : aiPlayerParticles.values()) {
+            ps.setSpawnScale(scale);
+        }
+        int segments = circleSegments();
+        for (RenderComponent rc : getComponents(RenderComponent.class)) {
+            if (rc.getRenderType() == RenderComponent.RenderType.CIRCLE) {
+                rc.setSegments(segments);
+            }
+        }
+    }
+
+    private ParticleSystem newParticleSystem(Vector2 position, ParticleSystem.Config config) {
+        return new ParticleSystem(renderer, position, config, new Random(particleRandom.nextLong()));
+    }
+
+    private int circleSegments() {
+        return quality.scale(16, 6);
+    }
+
+    // 每帧的游戏系统及其读写声明；互不冲突的系统（如粒子与子弹更新）会被并行执行。
+    // Scene 代表场景的标签索引：击杀 AI 会修改 AI 列表，遍历它的系统需声明读取；
+    // GameLogic / GameScene 代表各自的字段（游戏结束标志、宽相、粒子表、随机流等），BulletSystem 代表子弹状态
+    private void createSystems() {
+        scheduler = new SystemScheduler(engine.getWorkerPool());
+        scheduler.addSystem("playerInput", gameLogic::handlePlayerInput)
+            .reads(InputManager.class, Scene.class, GameLogic.class)
+            .writes(TransformComponent.class, PhysicsComponent.class, RenderComponent.class);
+        scheduler.addSystem("aiMovement", gameLogic::handleAIPlayerMovement)
+            .reads(TransformComponent.class, Scene.class)
+            .writes(PhysicsComponent.class, GameLogic.class);
+        scheduler.addSystem("aiAvoidance", gameLogic::handleAIPlayerAvoidance)
+            .reads(TransformComponent.class, Scene.class)
+            .writes(PhysicsComponent.class, GameLogic.class);
+        scheduler.addSystem("collisions", this::checkCollisions)
+            .reads(Scene.class)
+            .writes(TransformComponent.class, PhysicsComponent.class, GameLogic.class, ParticleSystem.class, GameScene.class);
+        scheduler.addSystem("particles", this::updateParticles)
+            .reads(TransformComponent.class, Scene.class, GameLogic.class)
+            .writes(ParticleSystem.class, GameScene.class);
+        scheduler.addSystem("bullets", this::updateBullets)
+            .reads(InputManager.class, TransformComponent.class, RenderComponent.class, Scene.class, GameLogic.class)
+            .writes(BulletSystem.class, Bullet.class);
+        scheduler.addSystem("bulletCollisions", this::checkBulletCollisions)
+            .reads(TransformComponent.class, RenderComponent.class, GameLogic.class)
+            .writes(PhysicsComponent.class, BulletSystem.class, Bullet.class, ParticleSystem.class, Scene.class, GameScene.class);
+    }
+
+    public SystemScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public GameLogic getGameLogic() {
+        return gameLogic;
     }
 
     @Override
@@ -77,10 +173,30 @@ public class GameScene extends Scene {
         super.update(deltaTime);
         time += deltaTime;
 
-        gameLogic.handlePlayerInput(deltaTime);
-        gameLogic.handleAIPlayerMovement(deltaTime);
-        gameLogic.handleAIPlayerAvoidance(deltaTime);
+        scheduler.update(deltaTime);
+
+        if (quality.getLevel() != appliedQualityLevel) {
+            applyQuality();
+        }
+
+        if (waitingReturn) {
+            waitInputTimer += deltaTime;
+            freezeTimer += deltaTime;
+        }
+
+        if (waitingReturn && waitInputTimer >= inputCooldown && (engine.getInputManager().isAnyKeyJustPressed() || engine.getInputManager().isMouseButtonJustPressed(0))) {
+            MenuScene menu = new MenuScene(engine, "MainMenu");
+            engine.setScene(menu);
+            return;
+        }
+
+        if (time >= aiSpawnInterval) {
+            createAIPlayer();
+            time = 0;
+        }
+    }
 
+    private void checkCollisions(float deltaTime) {
         boolean wasGameOver = gameLogic.isGameOver();
         gameLogic.checkCollisions(deltaTime);
 
@@ -104,8 +220,8 @@ public class GameScene extends Scene {
                     cfg.burstGMin = 0.0f;
                     cfg.burstGMax = 0.05f;
                     cfg.burstB = 0.0f;
-                    ParticleSystem explosion = new ParticleSystem(renderer, transform.getPosition(), cfg);
-                    explosion.burst(180);
+                    ParticleSystem explosion = newParticleSystem(transform.getPosition(), cfg);
+                    explosion.burst(quality.scale(180, 20));
                     collisionParticles.add(explosion);
                     waitingReturn = true;
                     waitInputTimer = 0f;
@@ -113,28 +229,6 @@ public class GameScene extends Scene {
                 }
             }
         }
-
-        updateParticles(deltaTime);
-
-        // 更新和检测子弹碰撞
-        updateBullets(deltaTime);
-        checkBulletCollisions(deltaTime);
-
-        if (waitingReturn) {
-            waitInputTimer += deltaTime;
-            freezeTimer += deltaTime;
-        }
-
-        if (waitingReturn && waitInputTimer >= inputCooldown && (engine.getInputManager().isAnyKeyJustPressed() || engine.getInputManager().isMouseButtonJustPressed(0))) {
-            MenuScene menu = new MenuScene(engine, "MainMenu");
-            engine.setScene(menu);
-            return;
-        }
-
-        if (time >= 1.0f) {
-            createAIPlayer();
-            time = 0;
-        }
     }
 
     private void updateParticles(float deltaTime) {
@@ -160,7 +254,8 @@ public class GameScene extends Scene {
                     if (particles == null) {
                         TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
                         if (transform != null) {
-                            particles = new ParticleSystem(renderer, transform.getPosition(), ParticleSystem.Config.light());
+                            particles = newParticleSystem(transform.getPosition(), ParticleSystem.Config.light());
+                            particles.setSpawnScale(quality.getQualityScale());
                             particles.setActive(true);
                             aiPlayerParticles.put(aiPlayer, particles);
                         }
@@ -210,11 +305,7 @@ public class GameScene extends Scene {
         renderParticles();
 
         // 渲染子弹
-        for (Bullet bullet : bullets) {
-            if (bullet.isAlive()) {
-                bullet.render();
-            }
-        }
+        bulletSystem.render();
 
         // 渲染敌人头顶血条
         renderEnemyHealthBars();
@@ -262,7 +353,7 @@ public class GameScene extends Scene {
             RenderComponent rc = ai.getComponent(RenderComponent.class);
             if (t == null || p == null) continue;
 
-            Vector2 pos = t.getPosition();
+            Vector2 pos = t.getRenderPosition();
             float barWidth = (rc != null && rc.getSize() != null) ? rc.getSize().x : 24.0f;
             float barHeight = 6.0f;
             float x = pos.x - barWidth / 2.0f;
@@ -315,116 +406,8 @@ public class GameScene extends Scene {
     }
 
     private void createPlayer() {
-        GameObject player = new GameObject("Player") {
-            private Vector2 basePosition;
-            
-            private com.gameengine.components.RenderComponent rc;
-
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                updateComponents(deltaTime);
-                updateBodyParts();
-            }
-
-            @Override
-            public void render() {
-                renderBodyParts();
-            }
-
-            private void updateBodyParts() {
-                TransformComponent transform = getComponent(TransformComponent.class);
-                if (transform != null) {
-                    basePosition = transform.getPosition();
-                }
-            }
-
-            private void renderBodyParts() {
-                if (basePosition == null) return;
-
-                // 颜色不再受隐身影响，始终全不透明
-                float alpha = 1.0f;
-
-                // 使用 RenderComponent 的颜色来表示玩家基础配色（方便录制回放）
-                com.gameengine.components.RenderComponent.Color color = rc != null ? rc.getColor() : new com.gameengine.components.RenderComponent.Color(1f,0f,0f,1f);
-                float r = color.r * alpha;
-                float g = color.g * alpha;
-                float b = color.b * alpha;
-
-                renderer.drawRect(
-                    basePosition.x - 8, basePosition.y - 10, 16, 20,
-                    r, g, b, 0.9f * alpha
-                );
-
-                renderer.drawRect(
-                    basePosition.x - 6, basePosition.y - 22, 12, 12,
-                    1.0f, 0.8f, 0.7f, 1.0f  // 肉色
-                );
-
-                renderer.drawRect(
-                    basePosition.x - 13, basePosition.y - 5, 6, 12,
-                    1.0f, 0.8f, 0.7f, 1.0f  // 肉色
-                );
-
-                renderer.drawRect(
-                    basePosition.x + 7, basePosition.y - 5, 6, 12,
-                    1.0f, 0.8f, 0.7f, 1.0f  // 肉色
-                );
-
-                renderer.drawRect(
-                    basePosition.x - 7, basePosition.y + 10, 6, 10,
-                    1.0f, 0.8f, 0.7f, 1.0f  // 肉色
-                );  
-
-                renderer.drawRect(
-                    basePosition.x, basePosition.y + 10, 6, 10,
-                    1.0f, 0.8f, 0.7f, 1.0f  // 肉色
-                );
-
-                 renderer.drawCircle(
-                    basePosition.x + 3, basePosition.y - 17, 2, 2,
-                    0.0f, 0.0f, 0.0f, 1.0f  // 黑色
-                );
-
-                renderer.drawCircle(
-                    basePosition.x - 3, basePosition.y - 17, 2, 2,
-                    0.0f, 0.0f, 0.0f, 1.0f  // 黑色
-                );
-
-                 renderer.drawRect(
-                    basePosition.x - 3, basePosition.y - 13, 6, 2,
-                    0.0f, 0.0f, 0.0f, 1.0f  // 黑色
-                );
-            }
-
-            
-        };
-
-        player.addComponent(new TransformComponent(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)));
-
-        // 添加 RenderComponent 用于记录颜色与尺寸，便于回放还原
-        com.gameengine.components.RenderComponent prc = player.addComponent(new com.gameengine.components.RenderComponent(
-            com.gameengine.components.RenderComponent.RenderType.RECTANGLE,
-            new com.gameengine.math.Vector2(16,20),
-            new com.gameengine.components.RenderComponent.Color(1.0f, 0.0f, 0.0f, 1.0f)
-        ));
-        prc.setRenderer(renderer);
-        // 玩家初始颜色设为纯红（不再随机）
-        prc.setColor(new com.gameengine.components.RenderComponent.Color(1.0f, 0.0f, 0.0f, 1.0f));
-
-        PhysicsComponent physics = player.addComponent(new PhysicsComponent(1.0f));
-        physics.setFriction(0.95f);
-        // 将玩家生命值设为 3（最大生命与当前生命）并保持摩擦设置
-        physics.setMaxHealth(3f);
-        physics.setHealth(3f);
-
-        // 将 RenderComponent 引用保存在匿名类实例中，便于切换颜色
-        try {
-            java.lang.reflect.Field f = player.getClass().getDeclaredField("rc");
-            f.setAccessible(true);
-            f.set(player, prc);
-        } catch (Exception ignored) {}
-
+        GameObject player = EntityFactory.createPlayer(renderer,
+            new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f));
         addGameObject(player);
     }
 
@@ -435,13 +418,7 @@ public class GameScene extends Scene {
     }
 
     private void createAIPlayer() {
-        GameObject aiPlayer = new GameObject("AIPlayer") {
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                updateComponents(deltaTime);
-            }
-        };
+        GameObject aiPlayer = aiPool.acquire();
 
         // 在屏幕边缘生成
         Vector2 position;
@@ -455,7 +432,7 @@ public class GameScene extends Scene {
             default: position = new Vector2(w, random.nextFloat() * h); break;
         }
 
-        aiPlayer.addComponent(new TransformComponent(position));
+        aiPlayer.getComponent(TransformComponent.class).resetPosition(position.x, position.y);
 
         // 尺寸：25% 概率出现较大尺寸
         boolean large = random.nextFloat() < 0.25f;
@@ -466,18 +443,13 @@ public class GameScene extends Scene {
                 ? this.palette.get(random.nextInt(this.palette.size()))
                 : new float[]{1f, 0f, 0f, 1f};
 
-        RenderComponent rc = aiPlayer.addComponent(new RenderComponent(
-            RenderComponent.RenderType.RECTANGLE,
-            new Vector2(size, size),
-            new RenderComponent.Color(col4[0], col4[1], col4[2], col4[3])
-        ));
-        rc.setRenderer(renderer);
-        rc.setVisible(true);
+        RenderComponent rc = aiPlayer.getComponent(RenderComponent.class);
+        rc.setSize(size, size);
+        RenderComponent.Color color = rc.getColor();
+        color.r = col4[0]; color.g = col4[1]; color.b = col4[2]; color.a = col4[3];
 
-        float mass = large ? 1.2f : 0.6f;
-        PhysicsComponent physics = aiPlayer.addComponent(new PhysicsComponent(mass));
-        // 降低摩擦以避免速度迅速衰减导致卡住
-        physics.setFriction(0.92f);
+        PhysicsComponent physics = aiPlayer.getComponent(PhysicsComponent.class);
+        physics.setMass(large ? 1.2f : 0.6f);
 
         // 设置生命值：小型 = 1， 大型 = 3
         if (large) {
@@ -533,64 +505,55 @@ public class GameScene extends Scene {
             new RenderComponent.Color(0.5f, 0.5f, 1.0f, 0.8f)
         ));
         render.setRenderer(renderer);
+        render.setSegments(circleSegments());
 
         addGameObject(decoration);
     }
 
     public List<Bullet> getBullets() {
-        return bullets;
+        return bulletSystem.getBullets();
     }
 
-    private void updateBullets(float deltaTime) {
-        // 处理玩家射击（鼠标左键朝鼠标方向发射）
-        shootCooldown -= deltaTime;
-        if (shootCooldown <= 0 && engine.getInputManager().isMouseButtonJustPressed(0)) {
-            shootCooldown = shootInterval;
-            GameObject player = gameLogic.getUserPlayer();
-            if (player != null) {
-                TransformComponent playerTransform = player.getComponent(TransformComponent.class);
-                if (playerTransform != null) {
-                    Vector2 playerPos = playerTransform.getPosition();
-                    Vector2 mouse = engine.getInputManager().getMousePosition();
-                    Vector2 dir = mouse.subtract(playerPos);
-                    if (dir.magnitude() <= 0) dir = new Vector2(0, -1);
-                    else dir = dir.normalize();
-                    Vector2 bulletVel = dir.multiply(600.0f); // 更快的子弹速度
-                    // 子弹继承玩家颜色并造成固定伤害（1）
-                    com.gameengine.components.RenderComponent prc = player.getComponent(com.gameengine.components.RenderComponent.class);
-                    float br = 1f, bg = 1f, bb = 0f, ba = 1f;
-                    if (prc != null) {
-                        com.gameengine.components.RenderComponent.Color c = prc.getColor();
-                        br = c.r; bg = c.g; bb = c.b; ba = c.a;
-                    }
-                    int damage = 1;
-                    Bullet bullet = new Bullet(playerPos, bulletVel, renderer, br, bg, bb, ba, damage);
-                    bullets.add(bullet);
-                }
-            }
-        }
+    public ObjectPool<GameObject> getAIPool() {
+        return aiPool;
+    }
 
-        // 更新所有活子弹
-        for (int i = bullets.size() - 1; i >= 0; i--) {
-            Bullet b = bullets.get(i);
-            b.update(deltaTime);
-            if (!b.isAlive()) {
-                bullets.remove(i);
-            }
+    public ObjectPool<Bullet> getBulletPool() {
+        return bulletSystem.getPool();
+    }
+
+    // 死亡的 AI 在场景 update 中移出后回收到对象池，并清掉按对象记录的粒子与逻辑状态
+    @Override
+    protected void onGameObjectRemoved(GameObject obj) {
+        if (obj.hasTag(GameLogic.AI_TAG)) {
+            aiPlayerParticles.remove(obj);
+            gameLogic.forget(obj);
+            aiPool.release(obj);
         }
     }
 
+    private void updateBullets(float deltaTime) {
+        InputManager input = engine.getInputManager();
+        // 只有按下鼠标时才需要查找玩家
+        GameObject shooter = input.isMouseButtonJustPressed(0) ? gameLogic.getUserPlayer() : null;
+        bulletSystem.update(deltaTime, input, shooter);
+    }
+
     private void checkBulletCollisions(float deltaTime) {
         List<GameObject> aiPlayers = gameLogic.getAIPlayers();
 
         // 更新每个 AI 的受伤无敌计时器，确保连续多次命中可以计入
-        for (GameObject ai : aiPlayers) {
-            PhysicsComponent p = ai.getComponent(PhysicsComponent.class);
+        for (int k = 0; k < aiPlayers.size(); k++) {
+            PhysicsComponent p = aiPlayers.get(k).getComponent(PhysicsComponent.class);
             if (p != null) {
                 p.updateImmunityTimer(deltaTime);
             }
         }
 
+        List<Bullet> bullets = bulletSystem.getBullets();
+        if (bullets.isEmpty()) return;
+        refreshHitBoxes(aiPlayers);
+
         for (int i = bullets.size() - 1; i >= 0; i--) {
             Bullet bullet = bullets.get(i);
             if (!bullet.isAlive()) continue;
@@ -598,22 +561,19 @@ public class GameScene extends Scene {
             Vector2 bulletPos = bullet.getPosition();
             float bulletRadius = bullet.getRadius();
 
-            for (GameObject aiPlayer : aiPlayers) {
+            // 只检查宽相给出的候选，按列表下标升序，命中的 AI 与逐个扫描时相同
+            hitCandidates.clear();
+            hitBroadphase.queryRadius(bulletPos.x, bulletPos.y, bulletRadius + 1f, hitCandidates);
+            hitCandidates.sort();
+            for (int c = 0; c < hitCandidates.size(); c++) {
+                GameObject aiPlayer = aiPlayers.get(hitCandidates.get(c));
                 TransformComponent aiTransform = aiPlayer.getComponent(TransformComponent.class);
                 PhysicsComponent aiPhysics = aiPlayer.getComponent(PhysicsComponent.class);
-                
-                if (aiTransform == null || aiPhysics == null) continue;
-
-                Vector2 aiPos = aiTransform.getPosition();
-                float distance = bulletPos.distance(aiPos);
 
-                // 使用 RenderComponent 的尺寸确定 AI 命中半径（矩形取较大边的一半作为近似半径）
-                float aiRadius = 10.0f;
-                RenderComponent aiRCForHit = aiPlayer.getComponent(RenderComponent.class);
-                if (aiRCForHit != null && aiRCForHit.getSize() != null) {
-                    aiRadius = Math.max(aiRCForHit.getSize().x, aiRCForHit.getSize().y) / 2.0f;
-                }
+                float distance = Vector2.distance(bulletPos.x, bulletPos.y, aiTransform.getX(), aiTransform.getY());
+                float aiRadius = hitRadiusOf(aiPlayer);
                 if (distance < aiRadius + bulletRadius) {
+                        Vector2 aiPos = aiTransform.getPosition();
                         // 只有当子弹颜色与敌人颜色相同时才造成伤害并施加冲量
                         RenderComponent aiRC = aiPlayer.getComponent(RenderComponent.class);
                         boolean colorMatch = false;
@@ -644,6 +604,8 @@ public class GameScene extends Scene {
                             if (aiPhysics.isDead()) {
                                 // 记录（之前回放中会处理），现在恢复为实时行为：移除并播放粒子特效
                                 aiPlayer.setActive(false);
+                                // AI 已从列表中移除，其余 AI 的下标可能改变
+                                refreshHitBoxes(aiPlayers);
                                 // 粒子爆炸
                                 TransformComponent t = aiPlayer.getComponent(TransformComponent.class);
                                 if (t != null) {
@@ -659,8 +621,8 @@ public class GameScene extends Scene {
                                     cfg.burstSizeMin = 4f;
                                     cfg.burstSizeMax = 12f;
                                     cfg.burstR = 1.0f; cfg.burstGMin = 0.0f; cfg.burstGMax = 0.5f; cfg.burstB = 0.0f;
-                                    ParticleSystem explosion = new ParticleSystem(renderer, t.getPosition(), cfg);
-                                    explosion.burst(40);
+                                    ParticleSystem explosion = newParticleSystem(t.getPosition(), cfg);
+                                    explosion.burst(quality.scale(40, 8));
                                     collisionParticles.add(explosion);
                                 }
                             }
@@ -668,13 +630,50 @@ public class GameScene extends Scene {
 
                         // 无论命中与否都让子弹消失（但非同色不会改变敌人）
                         bullet.kill();
-                        bullets.remove(i);
+                        bulletSystem.release(i);
                         break;
                 }
             }
         }
     }
 
+    // 更换子弹命中检测的宽相，新宽相会被清空
+    public void setHitBroadphase(Broadphase broadphase) {
+        broadphase.clear();
+        this.hitBroadphase = broadphase;
+        this.hitBoxCount = 0;
+    }
+
+    public Broadphase getHitBroadphase() {
+        return hitBroadphase;
+    }
+
+    private void refreshHitBoxes(List<GameObject> aiPlayers) {
+        int n = aiPlayers.size();
+        for (int k = 0; k < n; k++) {
+            GameObject aiPlayer = aiPlayers.get(k);
+            TransformComponent aiTransform = aiPlayer.getComponent(TransformComponent.class);
+            if (aiTransform == null || !aiPlayer.hasComponent(PhysicsComponent.class)) {
+                hitBroadphase.remove(k);
+                continue;
+            }
+            float r = hitRadiusOf(aiPlayer);
+            float x = aiTransform.getX();
+            float y = aiTransform.getY();
+            hitBroadphase.update(k, x - r, y - r, x + r, y + r);
+        }
+        for (int k = n; k < hitBoxCount; k++) {
+            hitBroadphase.remove(k);
+        }
+        hitBoxCount = n;
+    }
+
+    // 使用 RenderComponent 的尺寸确定 AI 命中半径（矩形取较大边的一半作为近似半径）
+    private static float hitRadiusOf(GameObject aiPlayer) {
+        RenderComponent rc = aiPlayer.getComponent(RenderComponent.class);
+        return rc != null ? Math.max(rc.getWidth(), rc.getHeight()) / 2.0f : 10.0f;
+    }
+
     @Override
     public void clear() {
         if (gameLogic != null) {
@@ -689,8 +688,12 @@ public class GameScene extends Scene {
             }
             collisionParticles.clear();
         }
-        if (bullets != null) {
-            bullets.clear();
+        if (bulletSystem != null) {
+            bulletSystem.clear();
+        }
+        if (hitBroadphase != null) {
+            hitBroadphase.clear();
+            hitBoxCount = 0;
         }
         super.clear();
     }
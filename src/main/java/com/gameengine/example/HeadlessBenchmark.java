@@ -0,0 +1,59 @@
+package com.gameengine.example;
+
+import com.gameengine.core.GameEngine;
+import com.gameengine.graphics.HeadlessRenderer;
+import com.gameengine.graphics.IRenderer;
+import com.gameengine.graphics.PipelinedRenderer;
+import com.gameengine.graphics.RenderBackend;
+
+// 无窗口基准：用 HEADLESS 后端不节流地运行 GameScene，输出模拟吞吐（ticks/s）
+// 用法: HeadlessBenchmark [ticks] [每次绘制调用的模拟提交开销 ns]
+// 依次以串行与流水线两种模式运行，对比吞吐。
+// 各项专门检查见 DeterminismCheck、AllocationCheck、ContactSolverCheck、BroadphaseBenchmark、LookupBenchmark
+public class HeadlessBenchmark {
+    public static void main(String[] args) {
+        int ticks = args != null && args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        long drawCost = args != null && args.length > 1 ? Long.parseLong(args[1]) : 300L;
+
+        double serial = runGameScene(ticks, false, drawCost);
+        double pipelined = runGameScene(ticks, true, drawCost);
+        System.out.println(String.format("pipelined speedup: %.2fx", serial > 0 ? pipelined / serial : 0.0));
+    }
+
+    private static double runGameScene(int ticks, boolean pipelined, long drawCost) {
+        GameEngine engine = new GameEngine(1024, 768, "Benchmark", RenderBackend.HEADLESS);
+        engine.setFixedTimestep(true);
+        engine.setTickRate(60.0f);
+        engine.setPipelined(pipelined);
+        HeadlessRenderer renderer = headless(engine.getRenderer());
+        renderer.setDrawCallCostNanos(drawCost);
+        engine.setScene(new GameScene(engine));
+
+        double tps = engine.runUncapped(ticks);
+
+        long frames = Math.max(1, renderer.getFrameCount());
+        System.out.println(String.format("[%s] ticks=%d  %.1f ticks/s  (%.3f ms/tick)",
+            pipelined ? "pipelined" : "serial", engine.getTickCount(), tps, tps > 0 ? 1000.0 / tps : 0.0));
+        System.out.println(String.format("  draw calls: %.1f/frame (rect=%d circle=%d line=%d text=%d)",
+            renderer.getTotalDrawCalls() / (double) frames,
+            renderer.getRectCalls(), renderer.getCircleCalls(), renderer.getLineCalls(), renderer.getTextCalls()));
+        System.out.println("  objects=" + engine.getCurrentScene().getGameObjectsView().size());
+        if (engine.getCurrentScene() instanceof GameScene) {
+            GameScene scene = (GameScene) engine.getCurrentScene();
+            System.out.print(scene.getScheduler().getTimingsSummary());
+            System.out.println("  ai pool: " + scene.getAIPool().getStatsSummary());
+            System.out.println("  bullet pool: " + scene.getBulletPool().getStatsSummary());
+        }
+        System.out.println("  workers: " + engine.getWorkerPool().getStatsSummary());
+
+        engine.cleanup();
+        return tps;
+    }
+
+    private static HeadlessRenderer headless(IRenderer renderer) {
+        if (renderer instanceof PipelinedRenderer) {
+            renderer = ((PipelinedRenderer) renderer).getTarget();
+        }
+        return (HeadlessRenderer) renderer;
+    }
+}
@@ -0,0 +1,152 @@
+package com.gameengine.example;
+
+import com.gameengine.input.InputManager;
+import com.gameengine.recording.RecordedInput;
+import com.gameengine.recording.RecordingConfig;
+import com.gameengine.recording.RecordingService;
+import com.gameengine.recording.RecordingStorage;
+import com.gameengine.scene.Scene;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+// 输入录制检查：用脚本随机按下/松开按键和鼠标键，按引擎的 tick 顺序录制到内存，
+// 再从录制行逐 tick 还原按住集合并与实时状态比较，不一致时以非零状态退出
+// 用法: InputLogCheck [tick 数] [种子]
+public class InputLogCheck {
+    private static final int[] KEYS = {87, 65, 83, 68, 37, 38, 39, 40, 32};
+
+    public static void main(String[] args) throws Exception {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 12345L;
+
+        MemoryStorage storage = new MemoryStorage();
+        RecordingConfig config = new RecordingConfig("memory");
+        config.queueCapacity = ticks + 16;
+        RecordingService service = new RecordingService(config);
+        service.setStorage(storage);
+        service.setSimulationInfo(seed, true, 60.0f);
+
+        InputManager input = new InputManager();
+        Scene scene = new Scene("InputLogCheck");
+        Random random = new Random(seed);
+        List<Set<Integer>> liveKeys = new ArrayList<>(ticks);
+        List<Boolean> liveButton = new ArrayList<>(ticks);
+
+        service.start(scene, 1024, 768);
+        for (int t = 0; t < ticks; t++) {
+            script(input, random);
+            // 与 GameEngine.tick 相同：场景更新后录制，再清除本 tick 的 justPressed
+            service.update(1.0 / 60.0, scene, input);
+            liveKeys.add(input.getPressedKeysSnapshot());
+            liveButton.add(input.isMouseButtonPressed(0));
+            input.update();
+        }
+        service.stop();
+
+        RecordedInput recorded = new RecordedInput();
+        List<String> lines = storage.getLines();
+        int next = 0;
+        int inputLines = 0;
+        int mismatches = 0;
+        String firstMismatch = null;
+        for (int t = 0; t < ticks; t++) {
+            long tick = t + 1;
+            while (next < lines.size() && tickOf(lines.get(next)) <= tick) {
+                if (recorded.accept(lines.get(next))) inputLines++;
+                next++;
+            }
+            Set<Integer> live = new TreeSet<>(liveKeys.get(t));
+            boolean same = live.equals(recorded.getHeldKeys()) && liveButton.get(t) == recorded.isMouseButtonHeld(0);
+            if (!same) {
+                mismatches++;
+                if (firstMismatch == null) {
+                    firstMismatch = "tick " + tick + " live=" + live + " recorded=" + recorded.getHeldKeys();
+                }
+            }
+        }
+
+        boolean ok = mismatches == 0;
+        System.out.println(String.format("input log: seed=%d ticks=%d  input lines=%d  mismatched ticks=%d  %s",
+            seed, ticks, inputLines, mismatches, ok ? "OK" : "MISMATCH"));
+        if (!ok) {
+            System.out.println("  first mismatch: " + firstMismatch);
+            System.exit(1);
+        }
+    }
+
+    // 每个键每 tick 有小概率切换按住状态，偶尔在同一 tick 内按下又松开（只出现在 justPressed 中）
+    private static void script(InputManager input, Random random) {
+        for (int key : KEYS) {
+            if (random.nextInt(40) != 0) continue;
+            if (input.isKeyPressed(key)) {
+                input.onKeyReleased(key);
+            } else {
+                input.onKeyPressed(key);
+            }
+        }
+        if (random.nextInt(50) == 0) {
+            int tap = KEYS[random.nextInt(KEYS.length)];
+            if (!input.isKeyPressed(tap)) {
+                input.onKeyPressed(tap);
+                input.onKeyReleased(tap);
+            }
+        }
+        if (random.nextInt(30) == 0) {
+            input.onMouseMoved(random.nextFloat() * 1024f, random.nextFloat() * 768f);
+            if (input.isMouseButtonPressed(0)) {
+                input.onMouseReleased(0);
+            } else {
+                input.onMousePressed(0);
+            }
+        }
+    }
+
+    private static long tickOf(String line) {
+        int i = line.indexOf("\"tick\":");
+        if (i < 0) return 0;
+        int start = i + 7;
+        int end = start;
+        while (end < line.length() && Character.isDigit(line.charAt(end))) end++;
+        return Long.parseLong(line.substring(start, end));
+    }
+
+    // 写入内存的录制存储，供检查读取
+    private static class MemoryStorage implements RecordingStorage {
+        private final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void openWriter(String path) {
+            lines.clear();
+        }
+
+        @Override
+        public void writeLine(String line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void closeWriter() {
+        }
+
+        @Override
+        public Iterable<String> readLines(String path) {
+            return getLines();
+        }
+
+        @Override
+        public List<File> listRecordings() {
+            return new ArrayList<>();
+        }
+
+        List<String> getLines() {
+            synchronized (lines) {
+                return new ArrayList<>(lines);
+            }
+        }
+    }
+}
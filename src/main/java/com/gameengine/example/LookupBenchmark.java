@@ -0,0 +1,93 @@
+package com.gameengine.example;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.RenderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Component;
+import com.gameengine.core.GameObject;
+import com.gameengine.math.Vector2;
+import java.util.ArrayList;
+import java.util.List;
+
+// 组件查找对比：按类型 ID 槽位的 getComponent 与旧的 isInstance 线性扫描；两者命中数不同时以非零状态退出
+// 用法: LookupBenchmark [实体数] [轮数]
+public class LookupBenchmark {
+    public static void main(String[] args) {
+        int entityCount = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        List<GameObject> entities = new ArrayList<>(entityCount);
+        // 与 GameObject 旧实现相同的组件列表，用于复现线性扫描
+        List<List<Component<?>>> componentLists = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            GameObject obj = new GameObject("Entity");
+            List<Component<?>> list = new ArrayList<>();
+            list.add(obj.addComponent(new TransformComponent(new Vector2(i, i))));
+            list.add(obj.addComponent(new RenderComponent()));
+            list.add(obj.addComponent(new PhysicsComponent(1.0f)));
+            entities.add(obj);
+            componentLists.add(list);
+        }
+
+        if (lookupSlots(entities) != lookupLinear(componentLists)) {
+            System.err.println("按类型 ID 查找的结果与线性扫描不一致");
+            System.exit(1);
+        }
+
+        // 预热，让 JIT 编译两条路径
+        long sink = 0;
+        for (int r = 0; r < Math.max(1, rounds / 4); r++) {
+            sink += lookupSlots(entities) + lookupLinear(componentLists);
+        }
+
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            sink += lookupLinear(componentLists);
+        }
+        long linearNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            sink += lookupSlots(entities);
+        }
+        long slotNanos = System.nanoTime() - start;
+
+        double lookups = (double) entityCount * rounds * 3;
+        System.out.println(String.format("lookup: %d entities x %d rounds x 3 types", entityCount, rounds));
+        System.out.println(String.format("  isInstance scan: %.2f ns/lookup", linearNanos / lookups));
+        System.out.println(String.format("  type-id slots:   %.2f ns/lookup", slotNanos / lookups));
+        System.out.println(String.format("  speedup: %.2fx  (checksum %d)", slotNanos > 0 ? linearNanos / (double) slotNanos : 0.0, sink));
+    }
+
+    // 每个实体查找变换、物理、渲染三个组件，返回命中数
+    private static long lookupSlots(List<GameObject> entities) {
+        long found = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            GameObject obj = entities.get(i);
+            if (obj.getComponent(PhysicsComponent.class) != null) found++;
+            if (obj.getComponent(TransformComponent.class) != null) found++;
+            if (obj.getComponent(RenderComponent.class) != null) found++;
+        }
+        return found;
+    }
+
+    private static long lookupLinear(List<List<Component<?>>> componentLists) {
+        long found = 0;
+        for (int i = 0; i < componentLists.size(); i++) {
+            List<Component<?>> list = componentLists.get(i);
+            if (scan(list, PhysicsComponent.class) != null) found++;
+            if (scan(list, TransformComponent.class) != null) found++;
+            if (scan(list, RenderComponent.class) != null) found++;
+        }
+        return found;
+    }
+
+    private static Component<?> scan(List<Component<?>> components, Class<?> type) {
+        for (Component<?> component : components) {
+            if (type.isInstance(component)) {
+                return component;
+            }
+        }
+        return null;
+    }
+}
@@ -34,7 +34,7 @@ public class MenuScene extends Scene {
         super(name);
         this.engine = engine;
         this.renderer = engine.getRenderer();
-        this.inputManager = InputManager.getInstance();
+        this.inputManager = engine.getInputManager();
         this.selectedIndex = -1;
         this.options = new MenuOption[]{MenuOption.START_GAME, MenuOption.REPLAY, MenuOption.EXIT};
         this.selectionMade = false;
@@ -56,6 +56,12 @@ public class MenuScene extends Scene {
         
     }
     
+    // 菜单只随鼠标/键盘变化
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+    
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
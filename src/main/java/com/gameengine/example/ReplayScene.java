@@ -47,6 +47,7 @@ public class ReplayScene extends Scene {
     
     // 如果录制文件中未包含 player 的颜色，则在回放开始时要求用户选择
     private boolean playerColorMissing = false;
+    private volatile boolean prepared = false;
 
     // 如果 path 为 null，则先展示 recordings 目录下的文件列表，供用户选择
     public ReplayScene(GameEngine engine, String path) {
@@ -55,18 +56,17 @@ public class ReplayScene extends Scene {
         this.recordingPath = path;
     }
 
+    // 在后台加载线程上解析录制文件并构建首帧对象，避免长录制在切换时卡住窗口
     @Override
-    public void initialize() {
-        super.initialize();
+    public void prepare() {
         this.renderer = engine.getRenderer();
-        this.input = engine.getInputManager();
         // 重置状态，防止从列表进入后残留
         this.time = 0f;
         this.keyframes.clear();
         this.objectList.clear();
         if (recordingPath != null) {
             try (java.io.PrintWriter pw = new java.io.PrintWriter(new java.io.FileWriter("replay_debug.log", true))) {
-                pw.println("[" + System.currentTimeMillis() + "] ReplayScene.initialize: 开始加载 " + recordingPath);
+                pw.println("[" + System.currentTimeMillis() + "] ReplayScene.prepare: 开始加载 " + recordingPath);
                 pw.flush();
             } catch (Exception e) {}
             
@@ -83,16 +83,33 @@ public class ReplayScene extends Scene {
                 pw.println("[" + System.currentTimeMillis() + "] 首帧对象数: " + objectList.size());
                 pw.flush();
             } catch (Exception e) {}
+        }
+        prepared = true;
+    }
 
-
-            
-        } else {
+    @Override
+    public void initialize() {
+        super.initialize();
+        this.renderer = engine.getRenderer();
+        this.input = engine.getInputManager();
+        // 通过 setScene 同步切换时没有经过后台准备，这里补做
+        if (!prepared) {
+            prepare();
+        }
+        prepared = false;
+        if (recordingPath == null) {
             // 仅进入文件选择模式
             this.recordingFiles = null;
             this.selectedIndex = 0;
         }
     }
 
+    // 文件选择列表只随输入变化；播放时逐帧更新
+    @Override
+    public boolean isStatic() {
+        return recordingPath == null;
+    }
+
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
@@ -173,7 +190,7 @@ public class ReplayScene extends Scene {
                 public void render() {
                     TransformComponent tc = getComponent(TransformComponent.class);
                     if (tc == null) return;
-                    Vector2 p = tc.getPosition();
+                    Vector2 p = tc.getRenderPosition();
                     renderer.drawCircle(p.x, p.y, 3.0f, 8, 1.0f, 1.0f, 0.0f, 1.0f);
                 }
             };
@@ -354,7 +371,8 @@ public class ReplayScene extends Scene {
             
             // 从映射中获取或创建对象
             GameObject obj = objectMap.get(eb.id);
-            if (obj == null) {
+            boolean created = obj == null;
+            if (created) {
                 // 新对象，创建并添加到场景
                 obj = buildObjectFromEntity(eb, i);
                 addGameObject(obj);
@@ -383,7 +401,10 @@ public class ReplayScene extends Scene {
             
             // 应用位置
             TransformComponent tc = obj.getComponent(TransformComponent.class);
-            if (tc != null) {
+            if (tc != null && created) {
+                // 刚创建的对象直接落在插值位置上，不从生成点滑过来
+                tc.resetPosition(newPos.x, newPos.y);
+            } else if (tc != null) {
                 tc.setPosition(newPos);
             } else {
                 obj.addComponent(new TransformComponent(newPos));
@@ -469,7 +490,7 @@ public class ReplayScene extends Scene {
         }
         TransformComponent tc = obj.getComponent(TransformComponent.class);
         if (tc == null) obj.addComponent(new TransformComponent(new Vector2(ei.pos)));
-        else tc.setPosition(new Vector2(ei.pos));
+        else tc.resetPosition(ei.pos.x, ei.pos.y);
         return obj;
     }
 
@@ -491,10 +512,10 @@ public class ReplayScene extends Scene {
             selectedIndex = (selectedIndex + 1) % Math.max(1, recordingFiles.size());
         } else if (input.isKeyJustPressed(10) || input.isKeyJustPressed(32) || input.isKeyJustPressed(257) || input.isKeyJustPressed(335)) { // enter/space (AWT 10/32, GLFW 257/335)
             if (recordingFiles.size() > 0) {
-                String path = recordingFiles.get(selectedIndex).getAbsolutePath();
-                this.recordingPath = path;
-                clear();
-                initialize();
+                if (!engine.isSceneLoading()) {
+                    String path = recordingFiles.get(selectedIndex).getAbsolutePath();
+                    engine.setSceneAsync(new ReplayScene(engine, path));
+                }
             }
         } else if (input.isKeyJustPressed(27)) { // esc
             engine.setScene(new MenuScene(engine, "MainMenu"));
@@ -542,6 +563,12 @@ public class ReplayScene extends Scene {
             renderer.drawText(textX, textY, name, 0.9f,0.9f,0.9f,1f);
         }
 
+        if (engine.isSceneLoading()) {
+            String loading = "LOADING...";
+            float lw = loading.length() * 14f;
+            renderer.drawText(w/2f - lw/2f, h - 100, loading, 0.9f,0.8f,0.2f,1f);
+        }
+
         String hint = "UP/DOWN SELECT, ENTER PLAY, ESC RETURN";
         float hw = hint.length() * 12f;
         renderer.drawText(w/2f - hw/2f, h - 60, hint, 0.7f,0.7f,0.7f,1f);
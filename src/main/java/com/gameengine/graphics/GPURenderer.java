@@ -28,6 +28,10 @@ public class GPURenderer implements IRenderer {
     private Font font;
     private int fontSize;
     private boolean texturesPreloaded;
+    private boolean vsync;
+    // 由 GLFW 回调在主线程上更新
+    private volatile boolean focused;
+    private volatile boolean iconified;
     private static final String PRELOAD_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*()_+-=[]{}|;:,.<>?/~` ";
 
     public GPURenderer(int width, int height, String title) {
@@ -41,6 +45,9 @@ public class GPURenderer implements IRenderer {
         this.font = new Font(Font.MONOSPACED, Font.BOLD, 32);
         this.fontSize = 32;
         this.texturesPreloaded = false;
+        this.vsync = true;
+        this.focused = true;
+        this.iconified = false;
 
         initialize();
     }
@@ -86,7 +93,7 @@ public class GPURenderer implements IRenderer {
             
             GLFW.glfwMakeContextCurrent(window);
             GL.createCapabilities();
-            GLFW.glfwSwapInterval(1);
+            GLFW.glfwSwapInterval(vsync ? 1 : 0);
             
             GLFW.glfwShowWindow(window);
             
@@ -144,6 +151,14 @@ public class GPURenderer implements IRenderer {
         GLFW.glfwSetCursorPosCallback(window, (window, xpos, ypos) -> {
             inputManager.onMouseMoved((int)xpos, (int)ypos);
         });
+        
+        GLFW.glfwSetWindowFocusCallback(window, (window, hasFocus) -> {
+            focused = hasFocus;
+        });
+        
+        GLFW.glfwSetWindowIconifyCallback(window, (window, minimized) -> {
+            iconified = minimized;
+        });
     }
     
     @Override
@@ -511,6 +526,44 @@ public class GPURenderer implements IRenderer {
     
     
     
+    @Override
+    public void setVSync(boolean enabled) {
+        this.vsync = enabled;
+        if (!initialized) return;
+        GLFW.glfwMakeContextCurrent(window);
+        GLFW.glfwSwapInterval(enabled ? 1 : 0);
+    }
+    
+    @Override
+    public void releaseContext() {
+        if (!initialized) return;
+        GLFW.glfwMakeContextCurrent(MemoryUtil.NULL);
+    }
+    
+    @Override
+    public void waitEvents(double timeoutSeconds) {
+        if (initialized && window != MemoryUtil.NULL) {
+            GLFW.glfwWaitEventsTimeout(timeoutSeconds);
+        }
+    }
+    
+    @Override
+    public void wakeUp() {
+        if (initialized) {
+            GLFW.glfwPostEmptyEvent();
+        }
+    }
+    
+    @Override
+    public boolean isFocused() {
+        return focused;
+    }
+    
+    @Override
+    public boolean isIconified() {
+        return iconified;
+    }
+    
     @Override
     public boolean shouldClose() {
         if (!initialized) return false;
@@ -529,6 +582,9 @@ public class GPURenderer implements IRenderer {
     
     @Override
     public void cleanup() {
+        if (initialized && window != MemoryUtil.NULL) {
+            GLFW.glfwMakeContextCurrent(window);
+        }
         for (Integer textureId : charTextures.values()) {
             if (textureId > 0) {
                 GL11.glDeleteTextures(textureId);
@@ -0,0 +1,188 @@
+package com.gameengine.graphics;
+
+// 无窗口、无 GL 的渲染器：只统计收到的绘制调用，用于服务器端运行与基准测试
+public class HeadlessRenderer implements IRenderer {
+    private final int width;
+    private final int height;
+    private final String title;
+    private boolean closeRequested;
+    // 模拟每次绘制调用的提交开销（忙等），用于在无 GPU 的机器上评估流水线收益
+    private long drawCallCostNanos;
+
+    private long frames;
+    private long frameDrawCalls;
+    private long lastFrameDrawCalls;
+    private long totalDrawCalls;
+    private long rectCalls;
+    private long circleCalls;
+    private long lineCalls;
+    private long textCalls;
+
+    public HeadlessRenderer(int width, int height, String title) {
+        this.width = width;
+        this.height = height;
+        this.title = title;
+        this.closeRequested = false;
+    }
+
+    @Override
+    public void beginFrame() {
+        frameDrawCalls = 0;
+    }
+
+    @Override
+    public void endFrame() {
+        lastFrameDrawCalls = frameDrawCalls;
+        frames++;
+    }
+
+    @Override
+    public void drawRect(float x, float y, float w, float h, float r, float g, float b, float a) {
+        rectCalls++;
+        countDrawCall();
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        circleCalls++;
+        countDrawCall();
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        lineCalls++;
+        countDrawCall();
+    }
+
+    @Override
+    public void drawText(float x, float y, String text, float r, float g, float b, float a) {
+        if (text == null || text.isEmpty()) return;
+        textCalls++;
+        countDrawCall();
+    }
+
+    private void countDrawCall() {
+        frameDrawCalls++;
+        totalDrawCalls++;
+        if (drawCallCostNanos > 0) {
+            long end = System.nanoTime() + drawCallCostNanos;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public void setDrawCallCostNanos(long nanos) {
+        this.drawCallCostNanos = Math.max(0, nanos);
+    }
+
+    public long getDrawCallCostNanos() {
+        return drawCallCostNanos;
+    }
+
+    @Override
+    public void setVSync(boolean enabled) {
+    }
+
+    @Override
+    public void releaseContext() {
+    }
+
+    @Override
+    public boolean shouldClose() {
+        return closeRequested;
+    }
+
+    public void requestClose() {
+        this.closeRequested = true;
+    }
+
+    @Override
+    public void pollEvents() {
+    }
+
+    // 没有事件源，只按超时等待，可被 wakeUp 提前唤醒
+    @Override
+    public synchronized void waitEvents(double timeoutSeconds) {
+        long millis = (long)(timeoutSeconds * 1000.0);
+        if (millis <= 0) return;
+        try {
+            wait(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public synchronized void wakeUp() {
+        notifyAll();
+    }
+
+    @Override
+    public boolean isFocused() {
+        return true;
+    }
+
+    @Override
+    public boolean isIconified() {
+        return false;
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    public long getLastFrameDrawCalls() {
+        return lastFrameDrawCalls;
+    }
+
+    public long getTotalDrawCalls() {
+        return totalDrawCalls;
+    }
+
+    public long getRectCalls() {
+        return rectCalls;
+    }
+
+    public long getCircleCalls() {
+        return circleCalls;
+    }
+
+    public long getLineCalls() {
+        return lineCalls;
+    }
+
+    public long getTextCalls() {
+        return textCalls;
+    }
+
+    public void resetCounters() {
+        frames = 0;
+        frameDrawCalls = 0;
+        lastFrameDrawCalls = 0;
+        totalDrawCalls = 0;
+        rectCalls = 0;
+        circleCalls = 0;
+        lineCalls = 0;
+        textCalls = 0;
+    }
+}
@@ -9,8 +9,17 @@ public interface IRenderer {
     void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a);
     void drawText(float x, float y, String text, float r, float g, float b, float a);
     
+    void setVSync(boolean enabled);
+    // 解除当前线程上的图形上下文绑定，便于转交给其他线程（流水线渲染）
+    void releaseContext();
+    
     boolean shouldClose();
     void pollEvents();
+    // 阻塞直到有窗口/输入事件或超时，用于空闲时降低 CPU 占用；wakeUp 可从任意线程提前唤醒
+    void waitEvents(double timeoutSeconds);
+    void wakeUp();
+    boolean isFocused();
+    boolean isIconified();
     void cleanup();
     
     int getWidth();
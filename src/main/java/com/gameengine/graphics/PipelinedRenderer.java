@@ -0,0 +1,203 @@
+package com.gameengine.graphics;
+
+import java.util.concurrent.Semaphore;
+
+// 流水线渲染：场景在游戏线程上把绘制调用记录进后台缓冲，endFrame 时与前台缓冲交换，
+// 由独立的渲染线程把前台缓冲提交给真实渲染器，同时游戏线程继续模拟下一帧。
+//
+// 同步点：
+//   endFrame()  —— 等待渲染线程交还上一帧的前台缓冲（frameConsumed），交换缓冲后通知渲染线程（frameReady）
+//   awaitIdle() —— 等待渲染线程把已提交的帧全部画完
+// 输入轮询（pollEvents）仍在调用线程（主线程）上直接转发。
+public class PipelinedRenderer implements IRenderer {
+    private final IRenderer target;
+    private RenderCommandBuffer back;
+    private RenderCommandBuffer front;
+    private final Semaphore frameReady;
+    private final Semaphore frameConsumed;
+    private Thread renderThread;
+    private volatile boolean stopping;
+    private volatile Boolean pendingVSync;
+    private volatile long renderNanos;
+    private long framesSubmitted;
+
+    public PipelinedRenderer(IRenderer target) {
+        this.target = target;
+        this.back = new RenderCommandBuffer();
+        this.front = new RenderCommandBuffer();
+        this.frameReady = new Semaphore(0);
+        this.frameConsumed = new Semaphore(1);
+        this.stopping = false;
+    }
+
+    public IRenderer getTarget() {
+        return target;
+    }
+
+    @Override
+    public void beginFrame() {
+        back.clear();
+    }
+
+    @Override
+    public void endFrame() {
+        if (renderThread == null) {
+            startRenderThread();
+        }
+        frameConsumed.acquireUninterruptibly();
+        RenderCommandBuffer submitted = back;
+        back = front;
+        front = submitted;
+        framesSubmitted++;
+        frameReady.release();
+    }
+
+    // 等待渲染线程处理完所有已提交的帧
+    public void awaitIdle() {
+        if (renderThread == null) return;
+        frameConsumed.acquireUninterruptibly();
+        frameConsumed.release();
+    }
+
+    private void startRenderThread() {
+        // GL 上下文同一时刻只能绑定在一个线程上，先从游戏线程解绑
+        target.releaseContext();
+        renderThread = new Thread(this::renderLoop, "render-stage");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    private void renderLoop() {
+        try {
+            while (true) {
+                frameReady.acquireUninterruptibly();
+                if (stopping) break;
+                try {
+                    long start = System.nanoTime();
+                    Boolean vsync = pendingVSync;
+                    if (vsync != null) {
+                        pendingVSync = null;
+                        target.setVSync(vsync);
+                    }
+                    target.beginFrame();
+                    front.replay(target);
+                    target.endFrame();
+                    renderNanos = System.nanoTime() - start;
+                } catch (RuntimeException e) {
+                    System.err.println("渲染线程出错: " + e.getMessage());
+                } finally {
+                    frameConsumed.release();
+                }
+            }
+        } finally {
+            target.releaseContext();
+        }
+    }
+
+    public void shutdown() {
+        if (renderThread == null) return;
+        awaitIdle();
+        stopping = true;
+        frameReady.release();
+        try {
+            renderThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        renderThread = null;
+        stopping = false;
+    }
+
+    public long getLastRenderNanos() {
+        return renderNanos;
+    }
+
+    public long getFramesSubmitted() {
+        return framesSubmitted;
+    }
+
+    @Override
+    public void drawRect(float x, float y, float width, float height, float r, float g, float b, float a) {
+        back.addRect(x, y, width, height, r, g, b, a);
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        back.addCircle(x, y, radius, segments, r, g, b, a);
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        back.addLine(x1, y1, x2, y2, r, g, b, a);
+    }
+
+    @Override
+    public void drawText(float x, float y, String text, float r, float g, float b, float a) {
+        if (text == null || text.isEmpty()) return;
+        back.addText(x, y, text, r, g, b, a);
+    }
+
+    @Override
+    public void setVSync(boolean enabled) {
+        if (renderThread == null) {
+            target.setVSync(enabled);
+        } else {
+            pendingVSync = enabled;
+        }
+    }
+
+    @Override
+    public void releaseContext() {
+    }
+
+    @Override
+    public boolean shouldClose() {
+        return target.shouldClose();
+    }
+
+    @Override
+    public void pollEvents() {
+        target.pollEvents();
+    }
+
+    @Override
+    public void waitEvents(double timeoutSeconds) {
+        target.waitEvents(timeoutSeconds);
+    }
+
+    @Override
+    public void wakeUp() {
+        target.wakeUp();
+    }
+
+    @Override
+    public boolean isFocused() {
+        return target.isFocused();
+    }
+
+    @Override
+    public boolean isIconified() {
+        return target.isIconified();
+    }
+
+    @Override
+    public void cleanup() {
+        shutdown();
+        target.cleanup();
+    }
+
+    @Override
+    public int getWidth() {
+        return target.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return target.getHeight();
+    }
+
+    @Override
+    public String getTitle() {
+        return target.getTitle();
+    }
+}
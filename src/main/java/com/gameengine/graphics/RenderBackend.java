@@ -1,6 +1,7 @@
 package com.gameengine.graphics;
 
 public enum RenderBackend {
-    GPU
+    GPU,
+    HEADLESS
 }
 
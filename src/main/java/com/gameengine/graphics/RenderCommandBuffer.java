@@ -0,0 +1,114 @@
+package com.gameengine.graphics;
+
+import java.util.Arrays;
+
+// 渲染命令列表：把一帧的绘制调用按原始参数记录下来，稍后在渲染线程上回放到真实渲染器
+// 使用平铺的基本类型数组，稳态下（容量足够后）记录与回放都不分配对象
+public class RenderCommandBuffer {
+    private static final byte RECT = 0;
+    private static final byte CIRCLE = 1;
+    private static final byte LINE = 2;
+    private static final byte TEXT = 3;
+    private static final int STRIDE = 8;
+
+    private byte[] ops;
+    private float[] data;
+    private int[] segments;
+    private String[] texts;
+    private int size;
+
+    public RenderCommandBuffer() {
+        this(1024);
+    }
+
+    public RenderCommandBuffer(int initialCapacity) {
+        int cap = Math.max(16, initialCapacity);
+        this.ops = new byte[cap];
+        this.data = new float[cap * STRIDE];
+        this.segments = new int[cap];
+        this.texts = new String[cap];
+        this.size = 0;
+    }
+
+    public void clear() {
+        // 释放文本引用，避免持有上一帧的字符串
+        Arrays.fill(texts, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void addRect(float x, float y, float w, float h, float r, float g, float b, float a) {
+        int i = push(RECT);
+        put(i, x, y, w, h, r, g, b, a);
+    }
+
+    public void addCircle(float x, float y, float radius, int segs, float r, float g, float b, float a) {
+        int i = push(CIRCLE);
+        put(i, x, y, radius, 0f, r, g, b, a);
+        segments[i] = segs;
+    }
+
+    public void addLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        int i = push(LINE);
+        put(i, x1, y1, x2, y2, r, g, b, a);
+    }
+
+    public void addText(float x, float y, String text, float r, float g, float b, float a) {
+        int i = push(TEXT);
+        put(i, x, y, 0f, 0f, r, g, b, a);
+        texts[i] = text;
+    }
+
+    public void replay(IRenderer target) {
+        for (int i = 0; i < size; i++) {
+            int o = i * STRIDE;
+            switch (ops[i]) {
+                case RECT:
+                    target.drawRect(data[o], data[o + 1], data[o + 2], data[o + 3],
+                        data[o + 4], data[o + 5], data[o + 6], data[o + 7]);
+                    break;
+                case CIRCLE:
+                    target.drawCircle(data[o], data[o + 1], data[o + 2], segments[i],
+                        data[o + 4], data[o + 5], data[o + 6], data[o + 7]);
+                    break;
+                case LINE:
+                    target.drawLine(data[o], data[o + 1], data[o + 2], data[o + 3],
+                        data[o + 4], data[o + 5], data[o + 6], data[o + 7]);
+                    break;
+                case TEXT:
+                    target.drawText(data[o], data[o + 1], texts[i],
+                        data[o + 4], data[o + 5], data[o + 6], data[o + 7]);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private int push(byte op) {
+        if (size == ops.length) {
+            int cap = ops.length * 2;
+            ops = Arrays.copyOf(ops, cap);
+            data = Arrays.copyOf(data, cap * STRIDE);
+            segments = Arrays.copyOf(segments, cap);
+            texts = Arrays.copyOf(texts, cap);
+        }
+        ops[size] = op;
+        return size++;
+    }
+
+    private void put(int i, float a0, float a1, float a2, float a3, float r, float g, float b, float a) {
+        int o = i * STRIDE;
+        data[o] = a0;
+        data[o + 1] = a1;
+        data[o + 2] = a2;
+        data[o + 3] = a3;
+        data[o + 4] = r;
+        data[o + 5] = g;
+        data[o + 6] = b;
+        data[o + 7] = a;
+    }
+}
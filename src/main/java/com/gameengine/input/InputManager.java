@@ -14,8 +14,11 @@ public class InputManager {
     private Vector2 mousePosition;
     private boolean[] mouseButtons;
     private boolean[] mouseButtonsJustPressed;
+    // 输入事件计数，引擎据此判断是否有用户活动（空闲降频/静态场景重绘）
+    private volatile long eventCount;
     
-    private InputManager() {
+    // 窗口输入使用 getInstance() 的全局实例；无窗口的模拟世界可各自 new 一个，由脚本注入输入
+    public InputManager() {
         pressedKeys = new HashSet<>();
         justPressedKeys = new HashSet<>();
         keyStates = new HashMap<>();
@@ -39,6 +42,7 @@ public class InputManager {
     }
     
     public void onKeyPressed(int keyCode) {
+        eventCount++;
         if (!pressedKeys.contains(keyCode)) {
             justPressedKeys.add(keyCode);
         }
@@ -47,16 +51,19 @@ public class InputManager {
     }
     
     public void onKeyReleased(int keyCode) {
+        eventCount++;
         pressedKeys.remove(keyCode);
         keyStates.put(keyCode, false);
     }
     
     public void onMouseMoved(float x, float y) {
+        eventCount++;
         mousePosition.x = x;
         mousePosition.y = y;
     }
     
     public void onMousePressed(int button) {
+        eventCount++;
         if (button >= 0 && button < mouseButtons.length) {
             if (!mouseButtons[button]) {
                 mouseButtonsJustPressed[button] = true;
@@ -66,6 +73,7 @@ public class InputManager {
     }
     
     public void onMouseReleased(int button) {
+        eventCount++;
         if (button >= 0 && button < mouseButtons.length) {
             mouseButtons[button] = false;
         }
@@ -93,6 +101,10 @@ public class InputManager {
         return false;
     }
     
+    public long getEventCount() {
+        return eventCount;
+    }
+    
     public boolean isAnyKeyJustPressed() {
         return !justPressedKeys.isEmpty();
     }
@@ -104,6 +116,10 @@ public class InputManager {
     public java.util.Set<Integer> getJustPressedKeysSnapshot() {
         return new java.util.HashSet<>(justPressedKeys);
     }
+
+    public java.util.Set<Integer> getPressedKeysSnapshot() {
+        return new java.util.HashSet<>(pressedKeys);
+    }
     
     public Vector2 getMousePosition() {
         return new Vector2(mousePosition);
@@ -1,5 +1,8 @@
 package com.gameengine.math;
 
+// 二维向量。add/subtract/multiply/normalize 等返回新对象，原对象不变；
+// 每帧大量调用的循环里请用 *Local 系列就地修改，或直接用下面的静态方法对 float 分量计算，避免分配。
+// 就地版本与返回新对象的版本逐位给出相同的结果。
 public class Vector2 {
     public float x;
     public float y;
@@ -45,7 +48,88 @@ public class Vector2 {
     }
     
     public float distance(Vector2 other) {
-        return this.subtract(other).magnitude();
+        return length(this.x - other.x, this.y - other.y);
+    }
+    
+    public float distanceSquared(Vector2 other) {
+        return lengthSquared(this.x - other.x, this.y - other.y);
+    }
+    
+    public float magnitudeSquared() {
+        return x * x + y * y;
+    }
+    
+    // ---- 就地修改，返回 this 便于链式调用 ----
+    
+    public Vector2 set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+    
+    public Vector2 set(Vector2 other) {
+        this.x = other.x;
+        this.y = other.y;
+        return this;
+    }
+    
+    public Vector2 addLocal(Vector2 other) {
+        this.x += other.x;
+        this.y += other.y;
+        return this;
+    }
+    
+    public Vector2 addLocal(float dx, float dy) {
+        this.x += dx;
+        this.y += dy;
+        return this;
+    }
+    
+    public Vector2 subtractLocal(Vector2 other) {
+        this.x -= other.x;
+        this.y -= other.y;
+        return this;
+    }
+    
+    public Vector2 scaleLocal(float scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        return this;
+    }
+    
+    // 长度为 0 时置为 (0, 0)，与 normalize() 一致
+    public Vector2 normalizeLocal() {
+        float mag = magnitude();
+        if (mag == 0) {
+            x = 0;
+            y = 0;
+        } else {
+            x = x / mag;
+            y = y / mag;
+        }
+        return this;
+    }
+    
+    // ---- 基于 float 分量的静态方法 ----
+    
+    public static float length(float x, float y) {
+        return (float) Math.sqrt(x * x + y * y);
+    }
+    
+    public static float lengthSquared(float x, float y) {
+        return x * x + y * y;
+    }
+    
+    public static float distance(float x1, float y1, float x2, float y2) {
+        return length(x1 - x2, y1 - y2);
+    }
+    
+    public static float distanceSquared(float x1, float y1, float x2, float y2) {
+        return lengthSquared(x1 - x2, y1 - y2);
+    }
+    
+    public static float dot(float x1, float y1, float x2, float y2) {
+        return x1 * x2 + y1 * y2;
     }
     
     @Override
@@ -0,0 +1,52 @@
+package com.gameengine.recording;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+// 从录制文件的 input 行按顺序还原按住的键和鼠标键；
+// 读完 tick 不超过 N 的所有行后，getHeldKeys() 即为第 N 个 tick 游戏看到的按住集合
+public class RecordedInput {
+    private final Set<Integer> heldKeys = new TreeSet<>();
+    private final Set<Integer> heldKeysView = Collections.unmodifiableSet(heldKeys);
+    private final boolean[] heldButtons = new boolean[3];
+    private long tick;
+
+    // 应用一行录制数据；不是 input 行时忽略并返回 false
+    public boolean accept(String line) {
+        if (!line.contains("\"type\":\"input\"")) return false;
+        tick = (long) RecordingJson.parseDouble(RecordingJson.field(line, "tick"));
+        for (int key : RecordingJson.intArray(line, "up")) {
+            heldKeys.remove(key);
+        }
+        for (int key : RecordingJson.intArray(line, "down")) {
+            heldKeys.add(key);
+        }
+        for (int button : RecordingJson.intArray(line, "mouseUp")) {
+            if (button >= 0 && button < heldButtons.length) heldButtons[button] = false;
+        }
+        for (int button : RecordingJson.intArray(line, "mouseDown")) {
+            if (button >= 0 && button < heldButtons.length) heldButtons[button] = true;
+        }
+        return true;
+    }
+
+    public Set<Integer> getHeldKeys() {
+        return heldKeysView;
+    }
+
+    public boolean isMouseButtonHeld(int button) {
+        return button >= 0 && button < heldButtons.length && heldButtons[button];
+    }
+
+    // 最近一条 input 行的 tick 编号
+    public long getTick() {
+        return tick;
+    }
+
+    public void reset() {
+        heldKeys.clear();
+        java.util.Arrays.fill(heldButtons, false);
+        tick = 0;
+    }
+}
@@ -68,6 +68,22 @@ public final class RecordingJson {
         }
         return "";
     }
+
+    // 读取形如 "key":[1,2,3] 的整数数组；字段不存在时返回空数组
+    public static int[] intArray(String json, String key) {
+        int i = json.indexOf("\"" + key + "\"");
+        if (i < 0) return new int[0];
+        int open = json.indexOf('[', i);
+        if (open < 0) return new int[0];
+        String inner = extractArray(json, open).trim();
+        if (inner.isEmpty()) return new int[0];
+        String[] parts = inner.split(",");
+        int[] out = new int[parts.length];
+        for (int k = 0; k < parts.length; k++) {
+            out[k] = Integer.parseInt(parts[k].trim());
+        }
+        return out;
+    }
 }
 
 
@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.text.DecimalFormat;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 
@@ -23,6 +24,14 @@ public class RecordingService {
     private final double warmupSec = 0.1; // 等待一帧让场景对象完成初始化
     private final DecimalFormat qfmt;
     private Scene lastScene;
+    // 模拟参数：确定性模式下凭种子 + 按 tick 编号的输入即可重放
+    private long seed;
+    private boolean deterministic;
+    private float tickRate;
+    private long tick;
+    // 上一次写入时的按住状态，只记录按下/松开的变化；回放按顺序累加即可还原每个 tick 的按住集合
+    private final Set<Integer> heldKeys = new TreeSet<>();
+    private final boolean[] heldButtons = new boolean[3];
 
     public RecordingService(RecordingConfig config) {
         this.config = config;
@@ -36,6 +45,17 @@ public class RecordingService {
         this.qfmt.setGroupingUsed(false);
     }
 
+    // 在 start 之前调用，写入文件头
+    public void setSimulationInfo(long seed, boolean deterministic, float tickRate) {
+        this.seed = seed;
+        this.deterministic = deterministic;
+        this.tickRate = tickRate;
+    }
+
+    public void setStorage(RecordingStorage storage) {
+        this.storage = storage;
+    }
+
     public boolean isRecording() {
         return recording;
     }
@@ -63,8 +83,17 @@ public class RecordingService {
         writerThread.start();
 
         // header
-        enqueue("{\"type\":\"header\",\"version\":1,\"w\":" + width + ",\"h\":" + height + "}");
+        StringBuilder header = new StringBuilder();
+        header.append("{\"type\":\"header\",\"version\":1,\"w\":").append(width).append(",\"h\":").append(height);
+        if (deterministic) {
+            header.append(",\"deterministic\":true,\"seed\":").append(seed).append(",\"tickRate\":").append(tickRate);
+        }
+        header.append('}');
+        enqueue(header.toString());
         keyframeElapsed = 0.0;
+        tick = 0;
+        heldKeys.clear();
+        java.util.Arrays.fill(heldButtons, false);
     }
 
     public void stop() {
@@ -84,19 +113,35 @@ public class RecordingService {
         keyframeElapsed += deltaTime;
         sampleAccumulator += deltaTime;
         lastScene = scene;
-
-        // input events (sample at native frequency, but只写有justPressed)
-        Set<Integer> just = input.getJustPressedKeysSnapshot();
-        if (!just.isEmpty()) {
+        tick++;
+
+        // 输入事件：keys 为本 tick 新按下的键（含同一 tick 内按下又松开的），
+        // down/up 与 mouseDown/mouseUp 为按住状态的变化，只在有内容时写一行
+        Set<Integer> just = new TreeSet<>(input.getJustPressedKeysSnapshot());
+        Set<Integer> pressed = input.getPressedKeysSnapshot();
+        Set<Integer> down = new TreeSet<>(pressed);
+        down.removeAll(heldKeys);
+        Set<Integer> up = new TreeSet<>(heldKeys);
+        up.removeAll(pressed);
+        heldKeys.removeAll(up);
+        heldKeys.addAll(down);
+        List<Integer> mouseDown = new java.util.ArrayList<>();
+        List<Integer> mouseUp = new java.util.ArrayList<>();
+        for (int i = 0; i < heldButtons.length; i++) {
+            boolean held = input.isMouseButtonPressed(i);
+            if (held == heldButtons[i]) continue;
+            (held ? mouseDown : mouseUp).add(i);
+            heldButtons[i] = held;
+        }
+        if (!just.isEmpty() || !down.isEmpty() || !up.isEmpty() || !mouseDown.isEmpty() || !mouseUp.isEmpty()) {
             StringBuilder sb = new StringBuilder();
-            sb.append("{\"type\":\"input\",\"t\":").append(qfmt.format(elapsed)).append(",\"keys\":[");
-            boolean first = true;
-            for (Integer k : just) {
-                if (!first) sb.append(',');
-                sb.append(k);
-                first = false;
-            }
-            sb.append("]}");
+            sb.append("{\"type\":\"input\",\"t\":").append(qfmt.format(elapsed)).append(",\"tick\":").append(tick);
+            appendArray(sb, "keys", just);
+            appendArray(sb, "down", down);
+            appendArray(sb, "up", up);
+            appendArray(sb, "mouseDown", mouseDown);
+            appendArray(sb, "mouseUp", mouseUp);
+            sb.append('}');
             enqueue(sb.toString());
         }
 
@@ -108,7 +153,7 @@ public class RecordingService {
             }
             if (!mbuttons.isEmpty()) {
                 StringBuilder sbm = new StringBuilder();
-                sbm.append("{\"type\":\"mouse\",\"t\":").append(qfmt.format(elapsed)).append(",\"buttons\":[");
+                sbm.append("{\"type\":\"mouse\",\"t\":").append(qfmt.format(elapsed)).append(",\"tick\":").append(tick).append(",\"buttons\":[");
                 for (int i = 0; i < mbuttons.size(); i++) {
                     if (i > 0) sbm.append(',');
                     sbm.append(mbuttons.get(i));
@@ -128,13 +173,25 @@ public class RecordingService {
         }
     }
 
+    private static void appendArray(StringBuilder sb, String key, Iterable<Integer> values) {
+        sb.append(",\"").append(key).append("\":[");
+        boolean first = true;
+        for (Integer v : values) {
+            if (!first) sb.append(',');
+            sb.append(v);
+            first = false;
+        }
+        sb.append(']');
+    }
+
     private boolean writeKeyframe(Scene scene) {
         StringBuilder sb = new StringBuilder();
         sb.append("{\"type\":\"keyframe\",\"t\":").append(qfmt.format(elapsed)).append(",\"entities\":[");
-        List<GameObject> objs = scene.getGameObjects();
+        List<GameObject> objs = scene.getGameObjectsView();
         boolean first = true;
         int count = 0;
-        for (GameObject obj : objs) {
+        for (int i = 0; i < objs.size(); i++) {
+            GameObject obj = objs.get(i);
             TransformComponent tc = obj.getComponent(TransformComponent.class);
             if (tc == null) continue;
             float x = tc.getPosition().x;
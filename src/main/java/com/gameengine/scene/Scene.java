@@ -1,23 +1,48 @@
 package com.gameengine.scene;
 
+import com.gameengine.core.ArchetypeStorage;
+import com.gameengine.core.BodyStore;
+import com.gameengine.core.EntityTable;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.SceneIndex;
+import com.gameengine.core.SceneQuery;
+import com.gameengine.core.TransformStore;
 import com.gameengine.core.Component;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class Scene {
     private String name;
-    private List<GameObject> gameObjects;
+    // 实体表持有稠密对象列表与句柄槽位，gameObjects 就是它的稠密列表
+    private final EntityTable entities;
+    private final List<GameObject> gameObjects;
+    private final List<GameObject> gameObjectsView;
+    // 对象列表的结构版本号，每次增删对象后加一
+    private int structureEpoch;
     private List<GameObject> objectsToAdd;
     private List<GameObject> objectsToRemove;
+    private final ArchetypeStorage storage;
+    private final SceneIndex index;
     private boolean initialized;
+    private float interpolationAlpha;
+    private volatile boolean redrawRequested;
     
     public Scene(String name) {
         this.name = name;
-        this.gameObjects = new ArrayList<>();
+        this.entities = new EntityTable();
+        this.gameObjects = entities.getObjects();
+        this.gameObjectsView = Collections.unmodifiableList(gameObjects);
         this.objectsToAdd = new ArrayList<>();
         this.objectsToRemove = new ArrayList<>();
+        this.storage = new ArchetypeStorage();
+        this.index = new SceneIndex();
         this.initialized = false;
+        this.interpolationAlpha = 1.0f;
+        this.redrawRequested = true;
+    }
+    
+    // 异步切换场景时在后台加载线程上调用，用于 I/O、解析与对象构建；
+    // 此时场景尚未挂到引擎上，不要在这里调用渲染器或读取输入
+    public void prepare() {
     }
     
     public void initialize() {
@@ -28,8 +53,13 @@ public class Scene {
     }
     
     public void update(float deltaTime) {
+        if (!objectsToAdd.isEmpty() || !objectsToRemove.isEmpty()) {
+            structureEpoch++;
+        }
         for (GameObject obj : objectsToAdd) {
-            gameObjects.add(obj);
+            entities.add(obj);
+            storage.add(obj);
+            index.add(obj);
             if (initialized) {
                 obj.initialize();
             }
@@ -37,57 +67,178 @@ public class Scene {
         objectsToAdd.clear();
         
         for (GameObject obj : objectsToRemove) {
-            gameObjects.remove(obj);
+            // 重复移除或不在场景中的对象不再触发回调，避免同一对象被回收两次
+            if (!entities.remove(obj)) continue;
+            storage.remove(obj);
+            index.remove(obj);
+            onGameObjectRemoved(obj);
         }
         objectsToRemove.clear();
         
-        Iterator<GameObject> iterator = gameObjects.iterator();
-        while (iterator.hasNext()) {
-            GameObject obj = iterator.next();
+        // 失活对象用 swap-remove 移除，被换到当前位置的对象留在同一下标上继续处理
+        boolean removed = false;
+        int i = 0;
+        while (i < gameObjects.size()) {
+            GameObject obj = gameObjects.get(i);
             if (obj.isActive()) {
                 obj.update(deltaTime);
+                i++;
             } else {
-                iterator.remove();
+                entities.remove(obj);
+                storage.remove(obj);
+                index.remove(obj);
+                onGameObjectRemoved(obj);
+                removed = true;
             }
         }
+        if (removed) {
+            structureEpoch++;
+        }
+    }
+    
+    // 对象在 update 中离开场景后调用（此时已不在对象列表和索引中），可用于回收到对象池；
+    // clear() 不会触发
+    protected void onGameObjectRemoved(GameObject obj) {
     }
     
     public void render() {
-        for (GameObject obj : gameObjects) {
+        // 场景内对象的变换都在实体表的列存储里，按列一次算完插值
+        entities.getTransforms().interpolate(interpolationAlpha, entities.getSlotCount());
+        // 按加入顺序绘制，先加入的在下层；稠密列表的顺序会被 swap-remove 打乱，不能用来决定遮挡
+        List<GameObject> drawOrder = entities.getObjectsInAddOrder();
+        for (int i = 0; i < drawOrder.size(); i++) {
+            GameObject obj = drawOrder.get(i);
             if (obj.isActive()) {
                 obj.render();
             }
         }
     }
     
+    // 固定步长模式下每个 tick 开始前调用，记录上一 tick 的位置用于渲染插值
+    public void storePreviousTransforms() {
+        entities.getTransforms().storePrevious(entities.getSlotCount());
+    }
+    
+    // 场景内所有对象的变换列，行号为对象句柄的槽位号（EntityTable.slotOf）
+    public TransformStore getTransformStore() {
+        return entities.getTransforms();
+    }
+    
+    // 场景内物理组件的积分列，行号与 getTransformStore 相同
+    public BodyStore getBodyStore() {
+        return entities.getBodies();
+    }
+    
+    // 变换与物理列中已使用的行数（含空槽位），按列遍历时处理前这么多行
+    public int getSlotCount() {
+        return entities.getSlotCount();
+    }
+    
+    public void setInterpolationAlpha(float alpha) {
+        this.interpolationAlpha = Math.max(0.0f, Math.min(1.0f, alpha));
+    }
+    
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+    
+    // 静态场景（如菜单）没有随时间变化的内容，引擎空闲时只在有输入或 requestRedraw 后重绘
+    public boolean isStatic() {
+        return false;
+    }
+    
+    public void requestRedraw() {
+        redrawRequested = true;
+    }
+    
+    // 返回并清除重绘请求
+    public boolean consumeRedrawRequest() {
+        boolean requested = redrawRequested;
+        redrawRequested = false;
+        return requested;
+    }
+    
     public void addGameObject(GameObject gameObject) {
         objectsToAdd.add(gameObject);
     }
     
+    // 缓存的组件查询，注册一次后随实体与组件的增删自动更新；每帧调用的系统应持有它而不是重复过滤
+    public SceneQuery query(Class<?>... componentTypes) {
+        return storage.query(componentTypes);
+    }
+    
+    // 结果按原型分组，顺序与 getGameObjects 不同
     public <T extends Component<T>> List<GameObject> findGameObjectsByComponent(Class<T> componentType) {
-        return gameObjects.stream()
-            .filter(obj -> obj.hasComponent(componentType))
-            .collect(Collectors.toList());
+        SceneQuery query = storage.query(componentType);
+        List<GameObject> result = new ArrayList<>(query.size());
+        query.collectEntities(result);
+        return result;
     }
     
     public <T extends Component<T>> List<T> getComponents(Class<T> componentType) {
-        return findGameObjectsByComponent(componentType).stream()
-            .map(obj -> obj.getComponent(componentType))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        SceneQuery query = storage.query(componentType);
+        List<T> result = new ArrayList<>(query.size());
+        query.collectComponents(componentType, result);
+        return result;
+    }
+    
+    // 名称为 name 的活跃对象，只读的实时视图，可以持有并在之后的帧里直接遍历
+    public List<GameObject> findGameObjectsByName(String name) {
+        return index.getByName(name);
+    }
+    
+    public GameObject findGameObjectByName(String name) {
+        return index.getFirstByName(name);
+    }
+    
+    // 带有标签 tag 的活跃对象，只读的实时视图
+    public List<GameObject> findGameObjectsByTag(String tag) {
+        return index.getByTag(tag);
+    }
+    
+    public GameObject findGameObjectByTag(String tag) {
+        return index.getFirstByTag(tag);
     }
     
     public void clear() {
-        gameObjects.clear();
+        for (GameObject obj : gameObjects) {
+            index.remove(obj);
+        }
+        entities.clear();
+        structureEpoch++;
         objectsToAdd.clear();
         objectsToRemove.clear();
+        storage.clear();
+    }
+    
+    // 按原型组织的组件存储，系统可直接遍历组件列
+    public ArchetypeStorage getArchetypeStorage() {
+        return storage;
     }
     
     public String getName() {
         return name;
     }
     
+    // 句柄对应的对象；对象已离开场景（句柄过期）时返回 null
+    public GameObject getGameObject(long handle) {
+        return entities.get(handle);
+    }
+    
+    // 返回对象列表的拷贝；每帧遍历请用 getGameObjectsView
     public List<GameObject> getGameObjects() {
         return new ArrayList<>(gameObjects);
     }
+    
+    // 对象列表的只读视图，不复制，删除对象会打乱顺序（渲染不受影响，按加入顺序绘制）。列表只在 update() 与 clear() 中变化，
+    // 因此在两次 update 之间（系统、渲染、录制）可以直接遍历；
+    // 用迭代器遍历时若列表被修改会抛出 ConcurrentModificationException。
+    // 需要跨帧持有下标或引用时，用 getStructureEpoch 判断列表是否变过
+    public List<GameObject> getGameObjectsView() {
+        return gameObjectsView;
+    }
+    
+    public int getStructureEpoch() {
+        return structureEpoch;
+    }
 }